@@ -0,0 +1,50 @@
+package br.com.patinhaas.backend.carga;
+
+import ch.vorburger.mariadb4j.DB;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sobe os mesmos componentes da aplicação para o teste de carga. A classe principal da
+ * aplicação é ignorada na varredura para que a configuração automática não seja aplicada
+ * duas vezes.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackages = "br.com.patinhaas.backend",
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ANNOTATION, classes = SpringBootApplication.class))
+@EntityScan("br.com.patinhaas.backend.domain.model")
+@EnableJpaRepositories("br.com.patinhaas.backend.domain.repository")
+class AplicacaoCarga {
+
+    /**
+     * Sobe a aplicação em porta aleatória sobre o banco informado do MariaDB embarcado.
+     * @param propriedades propriedades adicionais, com precedência sobre as padrão
+     */
+    static ConfigurableApplicationContext iniciar(DB db, String banco, Map<String, Object> propriedades) {
+        Map<String, Object> todas = new HashMap<>();
+        todas.put("server.port", "0");
+        todas.put("spring.datasource.url", "jdbc:mysql://localhost:" + db.getConfiguration().getPort() + "/" + banco);
+        todas.put("spring.datasource.username", "root");
+        todas.put("spring.datasource.password", "");
+        todas.put("spring.jpa.hibernate.ddl-auto", "none");
+        // A configuração de segurança da aplicação continua valendo; só a padrão do Boot sai
+        todas.put("spring.autoconfigure.exclude",
+                "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration");
+        todas.putAll(propriedades);
+        return new SpringApplicationBuilder(AplicacaoCarga.class)
+                .properties(todas)
+                .run();
+    }
+}
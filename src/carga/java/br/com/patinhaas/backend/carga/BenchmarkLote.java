@@ -0,0 +1,142 @@
+package br.com.patinhaas.backend.carga;
+
+import br.com.patinhaas.backend.domain.model.Problema;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.service.ProblemaService;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Compara a gravação em lote ({@code ProblemaService.saveAll}, um bloco por transação) com e
+ * sem o batching JDBC do Hibernate ({@code patinhas.jpa.batch-size}) e a reescrita de lotes do
+ * Connector/J ({@code patinhas.jpa.reescrever-lotes}), contra o MariaDB embarcado.
+ * <p>
+ * Cada configuração sobe a aplicação sobre um banco novo, descarta uma rodada de aquecimento e
+ * mede a vazão das demais. Problemas em vez de ideias: o saveAll é o mesmo, sem a vizinhança e
+ * os índices em memória atualizados após cada bloco de ideias; o matching pós-commit roda igual
+ * nas três configurações. Execução:
+ * <pre>
+ * ./mvnw -P carga -DskipTests verify -Dcarga.classe=br.com.patinhaas.backend.carga.BenchmarkLote \
+ *     -Dcarga.args="itens=20000 bloco=50 rodadas=3"
+ * </pre>
+ * Resultado em {@code target/carga/lote.txt}.
+ */
+public final class BenchmarkLote {
+
+    private static final long SEMENTE = 20251017L;
+
+    private static final List<Configuracao> CONFIGURACOES = List.of(
+            new Configuracao("sem-batching", 1, false),
+            new Configuracao("batch-size", 50, false),
+            new Configuracao("batch-size+rewrite", 50, true));
+
+    private BenchmarkLote() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use chave=valor)");
+            }
+            valores.put(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+        int itens = Integer.parseInt(valores.getOrDefault("itens", "20000"));
+        int bloco = Integer.parseInt(valores.getOrDefault("bloco", "50"));
+        int rodadas = Integer.parseInt(valores.getOrDefault("rodadas", "3"));
+        Path saida = Path.of(valores.getOrDefault("saida", "target/carga"));
+
+        DBConfigurationBuilder banco = DBConfigurationBuilder.newBuilder();
+        banco.setPort(0);
+        DB db = DB.newEmbeddedDB(banco.build());
+        db.start();
+
+        StringBuilder resumo = new StringBuilder();
+        resumo.append(String.format(Locale.ROOT, "%d problemas por rodada, blocos de %d, %d rodadas medidas%n%n",
+                itens, bloco, rodadas));
+        resumo.append(String.format(Locale.ROOT, "%-22s %12s %15s%n", "configuracao", "batch-size", "problemas/s"));
+        try {
+            for (Configuracao configuracao : CONFIGURACOES) {
+                String nomeBanco = "lote_" + configuracao.nome().replaceAll("[^a-z]", "_");
+                db.createDB(nomeBanco);
+                Map<String, Object> propriedades = new HashMap<>();
+                propriedades.put("patinhas.jpa.batch-size", String.valueOf(configuracao.batchSize()));
+                propriedades.put("patinhas.jpa.reescrever-lotes", String.valueOf(configuracao.reescrever()));
+
+                ConfigurableApplicationContext contexto = AplicacaoCarga.iniciar(db, nomeBanco, propriedades);
+                try {
+                    ProblemaService problemaService = contexto.getBean(ProblemaService.class);
+                    SplittableRandom random = new SplittableRandom(SEMENTE);
+                    System.out.printf("%s: aquecimento%n", configuracao.nome());
+                    gravar(problemaService, random, itens, bloco);
+
+                    long nanos = 0;
+                    for (int rodada = 0; rodada < rodadas; rodada++) {
+                        nanos += gravar(problemaService, random, itens, bloco);
+                    }
+                    double vazao = (double) itens * rodadas / (nanos / 1e9);
+                    System.out.printf(Locale.ROOT, "%s: %.0f problemas/s%n", configuracao.nome(), vazao);
+                    resumo.append(String.format(Locale.ROOT, "%-22s %12d %15.0f%n",
+                            configuracao.nome(), configuracao.batchSize(), vazao));
+                } finally {
+                    contexto.close();
+                }
+            }
+        } finally {
+            db.stop();
+        }
+
+        Files.createDirectories(saida);
+        Files.writeString(saida.resolve("lote.txt"), resumo, StandardCharsets.UTF_8);
+        System.out.print(resumo);
+    }
+
+    /**
+     * @return tempo gasto nos saveAll, sem contar a montagem das entidades
+     */
+    private static long gravar(ProblemaService problemaService, SplittableRandom random, int itens, int bloco) {
+        long nanos = 0;
+        for (int inicio = 0; inicio < itens; inicio += bloco) {
+            List<Problema> problemas = new ArrayList<>(bloco);
+            for (int i = inicio; i < Math.min(inicio + bloco, itens); i++) {
+                problemas.add(problema(random, i));
+            }
+            long antes = System.nanoTime();
+            problemaService.saveAll(problemas);
+            nanos += System.nanoTime() - antes;
+        }
+        return nanos;
+    }
+
+    private static Problema problema(SplittableRandom random, int indice) {
+        CategoriaEnum[] categorias = CategoriaEnum.values();
+        Problema problema = new Problema();
+        problema.setNome("Solicitante lote");
+        problema.setMatricula(String.format("l%06d", random.nextInt(1_000_000)));
+        problema.setUnidade("GEINO" + random.nextInt(40));
+        problema.setEmail("lote" + indice + "@exemplo.com.br");
+        problema.setProblemaDescricao("Retrabalho na conferência manual de documentos do processo " + indice);
+        problema.setProcesso("Conferência de documentos");
+        problema.setCategoria(categorias[random.nextInt(categorias.length)]);
+        problema.setImpactoFinanceiro(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+        problema.setTipoSolucaoEsperada("Automação");
+        problema.setImpactoPessoas(random.nextInt(5000));
+        return problema;
+    }
+
+    private record Configuracao(String nome, int batchSize, boolean reescrever) {
+    }
+}
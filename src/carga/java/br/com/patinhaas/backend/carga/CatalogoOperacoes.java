@@ -0,0 +1,100 @@
+package br.com.patinhaas.backend.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Operações de IdeiaControllerV2 e ProblemaControllerV2 disponíveis para o mix, por nome.
+ */
+final class CatalogoOperacoes {
+
+    private final Map<String, OperacaoBase> operacoes = new LinkedHashMap<>();
+
+    CatalogoOperacoes(URI base, DadosCarga dados, ObjectMapper objectMapper, Duration timeout) {
+        List<String> ideias = dados.getIdeiaIds();
+        List<String> problemas = dados.getProblemaIds();
+
+        registrar("ideia", "GET /ideias/{id}", random ->
+                get(base, "/ideias/" + sortear(ideias, random), timeout));
+        registrar("ideias-listar", "GET /ideias/listar", random ->
+                get(base, "/ideias/listar?tamanho=20", timeout));
+        registrar("ideia-semelhantes", "GET /ideias/{id}/semelhantes", random ->
+                get(base, "/ideias/" + sortear(ideias, random) + "/semelhantes?limit=20&contarTotal=false", timeout));
+        registrar("ideias-busca-texto", "POST /ideias/buscar-semelhantes", random ->
+                post(base, "/ideias/buscar-semelhantes?limit=20&contarTotal=false", "text/plain",
+                        HttpRequest.BodyPublishers.ofString(dados.consulta()), timeout));
+        registrar("ideia-criar", "POST /ideias", random ->
+                post(base, "/ideias", "application/json", json(objectMapper, dados.ideia()), timeout));
+        registrar("problema", "GET /problemas/{id}", random ->
+                get(base, "/problemas/" + sortear(problemas, random), timeout));
+        registrar("problemas-listar", "GET /problemas", random ->
+                get(base, "/problemas?tamanho=20", timeout));
+        registrar("problema-recomendadas", "GET /problemas/{id}/ideias-recomendadas", random ->
+                get(base, "/problemas/" + sortear(problemas, random) + "/ideias-recomendadas?limit=10", timeout));
+        registrar("problema-criar", "POST /problemas", random ->
+                post(base, "/problemas", "application/json", json(objectMapper, dados.problema(random.nextInt())), timeout));
+    }
+
+    List<OperacaoCarga> mix(Map<String, Integer> pesos) {
+        List<OperacaoCarga> mix = new ArrayList<>();
+        pesos.forEach((nome, peso) -> {
+            OperacaoBase operacao = operacoes.get(nome);
+            if (operacao == null) {
+                throw new IllegalArgumentException("Operação desconhecida no mix: " + nome + " (disponíveis: " + operacoes.keySet() + ")");
+            }
+            if (peso > 0) {
+                mix.add(new OperacaoCarga(nome, operacao.rota(), peso, operacao.requisicao()));
+            }
+        });
+        return mix;
+    }
+
+    private void registrar(String nome, String rota, Function<Random, HttpRequest> requisicao) {
+        operacoes.put(nome, new OperacaoBase(rota, requisicao));
+    }
+
+    private static HttpRequest get(URI base, String caminho, Duration timeout) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .header("Accept", "*/*")
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest post(URI base, String caminho, String tipo, HttpRequest.BodyPublisher corpo, Duration timeout) {
+        return HttpRequest.newBuilder(base.resolve(caminho))
+                .header("Accept", "*/*")
+                .header("Content-Type", tipo)
+                .timeout(timeout)
+                .POST(corpo)
+                .build();
+    }
+
+    private static HttpRequest.BodyPublisher json(ObjectMapper objectMapper, Object corpo) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(corpo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sortear(List<String> ids, Random random) {
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("A operação precisa de registros gravados na carga inicial");
+        }
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private record OperacaoBase(String rota, Function<Random, HttpRequest> requisicao) {
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.patinhaas.backend.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos {@code chave=valor}.
+ *
+ * @param ideias      ideias gravadas antes da medição
+ * @param problemas   problemas gravados antes da medição
+ * @param taxas       taxas de chegada (requisições/s) medidas em sequência, em ordem crescente
+ * @param duracao     duração de cada taxa
+ * @param aquecimento carga descartada na primeira taxa, antes da medição
+ * @param espera      pausa após a carga inicial, para o matching e a vizinhança terminarem
+ * @param mix         peso de cada operação do {@link CatalogoOperacoes}
+ * @param sloP99      p99 máximo para uma taxa ser considerada sustentável
+ * @param timeout     tempo máximo de uma requisição; acima dele conta como erro
+ * @param threads     modos de execução medidos em sequência, contra o mesmo banco
+ * @param tomcatThreads tamanho do pool do Tomcat no modo {@link ModoThreads#PLATAFORMA}
+ * @param saida       diretório dos relatórios
+ */
+record ConfiguracaoCarga(int ideias,
+                         int problemas,
+                         List<Integer> taxas,
+                         Duration duracao,
+                         Duration aquecimento,
+                         Duration espera,
+                         Map<String, Integer> mix,
+                         Duration sloP99,
+                         Duration timeout,
+                         List<ModoThreads> threads,
+                         int tomcatThreads,
+                         Path saida) {
+
+    private static final String MIX_PADRAO = "ideia=30,ideias-listar=15,ideia-semelhantes=15,ideias-busca-texto=10,"
+            + "ideia-criar=5,problema=15,problemas-listar=5,problema-recomendadas=5";
+
+    static ConfiguracaoCarga de(String[] args) {
+        Map<String, String> valores = new HashMap<>();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use chave=valor)");
+            }
+            valores.put(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+
+        return new ConfiguracaoCarga(
+                Integer.parseInt(valores.getOrDefault("ideias", "10000")),
+                Integer.parseInt(valores.getOrDefault("problemas", "2000")),
+                Arrays.stream(valores.getOrDefault("taxas", "25,50,100,200,400").split(","))
+                        .map(String::trim)
+                        .map(Integer::parseInt)
+                        .sorted()
+                        .toList(),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("duracao", "60"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("aquecimento", "30"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("espera", "30"))),
+                pesos(valores.getOrDefault("mix", MIX_PADRAO)),
+                Duration.ofMillis(Long.parseLong(valores.getOrDefault("slo-p99-ms", "500"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("timeout", "30"))),
+                Arrays.stream(valores.getOrDefault("threads", "plataforma").split(","))
+                        .map(ModoThreads::de)
+                        .distinct()
+                        .toList(),
+                Integer.parseInt(valores.getOrDefault("tomcat-threads", "200")),
+                Path.of(valores.getOrDefault("saida", "target/carga")));
+    }
+
+    private static Map<String, Integer> pesos(String mix) {
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        for (String item : mix.split(",")) {
+            String[] partes = item.trim().split("=");
+            pesos.put(partes[0], Integer.parseInt(partes[1]));
+        }
+        return pesos;
+    }
+}
@@ -0,0 +1,170 @@
+package br.com.patinhaas.backend.carga;
+
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaRequestDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.ResultadoLoteResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaRequestDTO;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Gera ideias e problemas em português e os grava pelos endpoints de lote, o mesmo caminho
+ * usado em produção. Os ids gravados alimentam as operações por id do teste de carga.
+ */
+final class DadosCarga {
+
+    // Abaixo do limite de patinhas.lote.maximo
+    private static final int TAMANHO_LOTE = 500;
+
+    private static final String[] ACOES = {
+            "automatizar", "reduzir", "otimizar", "digitalizar", "integrar", "simplificar", "monitorar",
+            "padronizar", "eliminar", "acelerar", "prever", "priorizar", "validar", "centralizar"
+    };
+
+    private static final String[] OBJETOS = {
+            "atendimento", "agência", "cliente", "conta", "crédito", "financiamento", "habitacional",
+            "pagamento", "boleto", "pix", "cadastro", "documentação", "contrato", "fila", "aplicativo",
+            "relatório", "auditoria", "fraude", "risco", "conformidade", "benefício", "fgts", "seguro",
+            "empréstimo", "cobrança", "inadimplência", "chamado", "processo", "planilha", "sistema"
+    };
+
+    private static final String[] CONTEXTOS = {
+            "com inteligência artificial", "por meio de chatbot", "usando aprendizado de máquina",
+            "com assinatura eletrônica", "através de painel gerencial", "via API aberta",
+            "em tempo real", "na rede de agências", "para pequenas empresas", "no atendimento remoto"
+    };
+
+    private static final String[] RESULTADOS = {
+            "o tempo de espera", "o retrabalho manual", "os custos operacionais", "as reclamações",
+            "o prazo de análise", "as perdas com fraude", "o consumo de papel", "os erros de digitação"
+    };
+
+    private final HttpClient cliente;
+
+    private final ObjectMapper objectMapper;
+
+    private final URI base;
+
+    private final Random random;
+
+    private final List<String> ideiaIds = new ArrayList<>();
+
+    private final List<String> problemaIds = new ArrayList<>();
+
+    DadosCarga(HttpClient cliente, ObjectMapper objectMapper, URI base, long semente) {
+        this.cliente = cliente;
+        this.objectMapper = objectMapper;
+        this.base = base;
+        this.random = new Random(semente);
+    }
+
+    void carregar(int ideias, int problemas) throws IOException, InterruptedException {
+        ideiaIds.addAll(gravar("/ideias/lote", ideias, i -> ideia()));
+        problemaIds.addAll(gravar("/problemas/lote", problemas, i -> problema(i)));
+    }
+
+    List<String> getIdeiaIds() {
+        return ideiaIds;
+    }
+
+    List<String> getProblemaIds() {
+        return problemaIds;
+    }
+
+    IdeiaRequestDTO ideia() {
+        IdeiaRequestDTO dto = new IdeiaRequestDTO();
+        dto.setNomeProponente("Proponente carga");
+        dto.setMatriculaProponente(String.format("c%06d", random.nextInt(1_000_000)));
+        dto.setUnidadeProponente("GEINO" + random.nextInt(40));
+        dto.setNomeExperimento(frase());
+        dto.setDesafioProblema(paragrafo(4));
+        dto.setSolucaoDescricao(paragrafo(4));
+        dto.setMetodologiaExecucao(paragrafo(2));
+        dto.setHipotesePrincipal("Se " + frase() + ", então " + escolher(RESULTADOS) + " melhora");
+        dto.setHorizonteInovacao("H" + (1 + random.nextInt(3)));
+        dto.setBaselineAtual(frase());
+        dto.setResultadosEsperados(frase());
+        dto.setKpisSmart(frase());
+        dto.setCategoria(categoria());
+        return dto;
+    }
+
+    ProblemaRequestDTO problema(int indice) {
+        ProblemaRequestDTO dto = new ProblemaRequestDTO();
+        dto.setNome("Solicitante carga");
+        dto.setMatricula(String.format("c%06d", random.nextInt(1_000_000)));
+        dto.setUnidade("GEINO" + random.nextInt(40));
+        dto.setEmail("carga" + indice + "@exemplo.com.br");
+        dto.setProblemaDescricao(paragrafo(4));
+        dto.setProcesso(frase());
+        dto.setCategoria(categoria());
+        dto.setImpactoFinanceiro(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+        dto.setTipoSolucaoEsperada(frase());
+        dto.setImpactoPessoas(random.nextInt(5000));
+        return dto;
+    }
+
+    /**
+     * Texto livre no formato enviado pelo agente para POST /ideias/buscar-semelhantes.
+     */
+    String consulta() {
+        return paragrafo(2);
+    }
+
+    private List<String> gravar(String caminho, int quantidade, Function<Integer, Object> fabrica)
+            throws IOException, InterruptedException {
+        List<String> ids = new ArrayList<>(quantidade);
+        for (int inicio = 0; inicio < quantidade; inicio += TAMANHO_LOTE) {
+            List<Object> lote = new ArrayList<>();
+            for (int i = inicio; i < Math.min(quantidade, inicio + TAMANHO_LOTE); i++) {
+                lote.add(fabrica.apply(i));
+            }
+            HttpResponse<byte[]> resposta = cliente.send(HttpRequest.newBuilder(base.resolve(caminho))
+                            .header("Content-Type", "application/json")
+                            .header("Accept", "*/*")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(lote)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (resposta.statusCode() != 200) {
+                throw new IllegalStateException("Carga inicial falhou em " + caminho + ": HTTP " + resposta.statusCode());
+            }
+            objectMapper.readValue(resposta.body(), ResultadoLoteResponseDTO.class).getItens().stream()
+                    .map(ResultadoLoteResponseDTO.ItemLoteDTO::getId)
+                    .filter(Objects::nonNull)
+                    .forEach(ids::add);
+        }
+        return ids;
+    }
+
+    private CategoriaEnum categoria() {
+        return CategoriaEnum.values()[random.nextInt(CategoriaEnum.values().length)];
+    }
+
+    private String paragrafo(int frases) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < frases; i++) {
+            texto.append(frase()).append(". ");
+        }
+        return texto.toString().trim();
+    }
+
+    private String frase() {
+        return escolher(ACOES) + " " + escolher(OBJETOS) + " e " + escolher(OBJETOS) + " "
+                + escolher(CONTEXTOS) + ", reduzindo " + escolher(RESULTADOS);
+    }
+
+    private String escolher(String[] opcoes) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.patinhaas.backend.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera carga em modelo aberto: as requisições partem em instantes fixos, calculados pela
+ * taxa de chegada, sem esperar as anteriores terminarem.
+ * <p>
+ * A latência é medida a partir do instante previsto de envio, não do envio efetivo. Se o
+ * próprio gerador atrasar (GC, disputa de CPU), o atraso entra na latência em vez de
+ * sumir da medição, o que corrige a omissão coordenada.
+ */
+final class GeradorCargaAberta {
+
+    private final HttpClient cliente;
+
+    private final List<OperacaoCarga> mix;
+
+    private final int[] pesosAcumulados;
+
+    private final Random random;
+
+    GeradorCargaAberta(HttpClient cliente, List<OperacaoCarga> mix, long semente) {
+        this.cliente = cliente;
+        this.mix = mix;
+        this.pesosAcumulados = new int[mix.size()];
+        int acumulado = 0;
+        for (int i = 0; i < mix.size(); i++) {
+            acumulado += mix.get(i).peso();
+            pesosAcumulados[i] = acumulado;
+        }
+        this.random = new Random(semente);
+    }
+
+    /**
+     * Mantém a taxa pela duração informada e aguarda as requisições em voo.
+     * @param taxa requisições por segundo
+     * @param timeout tempo máximo de espera pelas requisições em voo ao final
+     */
+    ResultadoEtapa executar(int taxa, Duration duracao, Duration timeout) {
+        Map<String, Recorder> latencias = new LinkedHashMap<>();
+        Map<String, LongAdder> erros = new LinkedHashMap<>();
+        for (OperacaoCarga operacao : mix) {
+            // Microssegundos, com 3 dígitos significativos e faixa ajustada automaticamente
+            latencias.put(operacao.rota(), new Recorder(3));
+            erros.put(operacao.rota(), new LongAdder());
+        }
+        LongAdder emVoo = new LongAdder();
+
+        long intervalo = TimeUnit.SECONDS.toNanos(1) / taxa;
+        long total = taxa * duracao.toSeconds();
+        long inicio = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long previsto = inicio + i * intervalo;
+            long espera;
+            while ((espera = previsto - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(espera);
+            }
+
+            OperacaoCarga operacao = sortear();
+            emVoo.increment();
+            cliente.sendAsync(operacao.requisicao().apply(random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        long latencia = System.nanoTime() - previsto;
+                        latencias.get(operacao.rota()).recordValue(TimeUnit.NANOSECONDS.toMicros(latencia));
+                        if (erro != null || resposta.statusCode() >= 400) {
+                            erros.get(operacao.rota()).increment();
+                        }
+                        emVoo.decrement();
+                    });
+        }
+        long duracaoEnvio = System.nanoTime() - inicio;
+
+        long limite = System.nanoTime() + timeout.toNanos();
+        while (emVoo.sum() > 0 && System.nanoTime() < limite) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        Map<String, Histogram> histogramas = new LinkedHashMap<>();
+        Map<String, Long> totalErros = new LinkedHashMap<>();
+        latencias.forEach((rota, recorder) -> histogramas.put(rota, recorder.getIntervalHistogram()));
+        erros.forEach((rota, contador) -> totalErros.put(rota, contador.sum()));
+        return new ResultadoEtapa(taxa, total, Duration.ofNanos(duracaoEnvio), emVoo.sum(), histogramas, totalErros);
+    }
+
+    private OperacaoCarga sortear() {
+        int sorteio = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (sorteio < pesosAcumulados[i]) {
+                return mix.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * @param enviadas requisições disparadas na etapa
+     * @param duracaoEnvio tempo efetivo de disparo; acima da duração configurada indica que o
+     *                     gerador não acompanhou a taxa
+     * @param semResposta requisições ainda em voo ao fim da espera, não incluídas nos histogramas
+     * @param latencias histograma por rota, em microssegundos
+     */
+    record ResultadoEtapa(int taxa, long enviadas, Duration duracaoEnvio, long semResposta,
+                          Map<String, Histogram> latencias, Map<String, Long> erros) {
+
+        Histogram consolidado() {
+            Histogram total = new Histogram(3);
+            latencias.values().forEach(total::add);
+            return total;
+        }
+
+        long totalErros() {
+            return erros.values().stream().mapToLong(Long::longValue).sum() + semResposta;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.patinhaas.backend.carga;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Teste de carga HTTP dos endpoints de ideias e problemas.
+ * <p>
+ * Sobe um MariaDB embarcado (compatível com as migrations Flyway, inclusive o FULLTEXT) e a
+ * aplicação em porta aleatória, grava o volume configurado pelos endpoints de lote e mede cada
+ * taxa de chegada em sequência. Execução:
+ * <pre>
+ * ./mvnw -P carga -DskipTests verify -Dcarga.args="ideias=20000 taxas=50,100,200"
+ * </pre>
+ * Com {@code threads=plataforma,virtual} as mesmas taxas são medidas com o Tomcat em threads de
+ * plataforma e depois em threads virtuais, e {@code comparativo.txt} mostra a maior taxa
+ * sustentável de cada modo.
+ * Parâmetros em {@link ConfiguracaoCarga}; relatórios em {@code target/carga}.
+ */
+public final class HarnessCarga {
+
+    private static final long SEMENTE = 20251017L;
+
+    private HarnessCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracaoCarga configuracao = ConfiguracaoCarga.de(args);
+
+        DBConfigurationBuilder banco = DBConfigurationBuilder.newBuilder();
+        banco.setPort(0);
+        DB db = DB.newEmbeddedDB(banco.build());
+        db.start();
+        db.createDB("patinhas");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+        try {
+            // Cada modo sobe a aplicação de novo sobre o mesmo banco, já carregado pelo primeiro
+            DadosCarga dados = null;
+            Map<ModoThreads, Integer> sustentaveis = new LinkedHashMap<>();
+            for (ModoThreads modo : configuracao.threads()) {
+                System.out.printf("Modo de threads: %s%n", modo.nome());
+                ConfigurableApplicationContext contexto = iniciar(db, modo, configuracao.tomcatThreads());
+                try {
+                    int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+                    URI base = URI.create("http://localhost:" + porta);
+                    if (dados == null) {
+                        dados = carregar(configuracao, cliente, objectMapper, base);
+                    }
+                    Path saida = configuracao.threads().size() > 1
+                            ? configuracao.saida().resolve(modo.nome())
+                            : configuracao.saida();
+                    sustentaveis.put(modo, medir(configuracao, cliente, objectMapper, base, dados, saida));
+                } finally {
+                    contexto.close();
+                }
+            }
+            if (sustentaveis.size() > 1) {
+                RelatorioCarga.gravarComparativo(configuracao.saida(), configuracao.tomcatThreads(), sustentaveis);
+            }
+        } finally {
+            db.stop();
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciar(DB db, ModoThreads modo, int tomcatThreads) {
+        Map<String, Object> propriedades = new HashMap<>();
+        propriedades.put("server.tomcat.threads.max", String.valueOf(tomcatThreads));
+        propriedades.put("spring.threads.virtual.enabled", String.valueOf(modo.virtuais()));
+        return AplicacaoCarga.iniciar(db, "patinhas", propriedades);
+    }
+
+    private static DadosCarga carregar(ConfiguracaoCarga configuracao, HttpClient cliente, ObjectMapper objectMapper,
+                                       URI base) throws Exception {
+        System.out.printf("Gravando %d ideias e %d problemas...%n", configuracao.ideias(), configuracao.problemas());
+        DadosCarga dados = new DadosCarga(cliente, objectMapper, base, SEMENTE);
+        dados.carregar(configuracao.ideias(), configuracao.problemas());
+        // Vizinhança, matching e avaliação por IA rodam em background após a carga
+        Thread.sleep(configuracao.espera().toMillis());
+        return dados;
+    }
+
+    /**
+     * @return maior taxa sustentável do modo em execução
+     */
+    private static int medir(ConfiguracaoCarga configuracao, HttpClient cliente, ObjectMapper objectMapper, URI base,
+                             DadosCarga dados, Path saida) throws Exception {
+        List<OperacaoCarga> mix = new CatalogoOperacoes(base, dados, objectMapper, configuracao.timeout())
+                .mix(configuracao.mix());
+        GeradorCargaAberta gerador = new GeradorCargaAberta(cliente, mix, SEMENTE);
+        RelatorioCarga relatorio = new RelatorioCarga(saida, configuracao.sloP99());
+
+        int primeiraTaxa = configuracao.taxas().get(0);
+        System.out.printf("Aquecimento: %d req/s por %ds%n", primeiraTaxa, configuracao.aquecimento().toSeconds());
+        gerador.executar(primeiraTaxa, configuracao.aquecimento(), configuracao.timeout());
+
+        List<GeradorCargaAberta.ResultadoEtapa> etapas = new ArrayList<>();
+        for (int taxa : configuracao.taxas()) {
+            System.out.printf("Medindo %d req/s por %ds%n", taxa, configuracao.duracao().toSeconds());
+            GeradorCargaAberta.ResultadoEtapa etapa = gerador.executar(taxa, configuracao.duracao(), configuracao.timeout());
+            relatorio.gravarEtapa(etapa);
+            etapas.add(etapa);
+        }
+        return relatorio.gravarResumo(etapas);
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.patinhaas.backend.carga;
+
+import java.util.Locale;
+
+/**
+ * Threads que atendem as requisições da aplicação durante a medição, selecionadas por
+ * {@code spring.threads.virtual.enabled}.
+ */
+enum ModoThreads {
+
+    PLATAFORMA(false),
+    VIRTUAL(true);
+
+    private final boolean virtuais;
+
+    ModoThreads(boolean virtuais) {
+        this.virtuais = virtuais;
+    }
+
+    boolean virtuais() {
+        return virtuais;
+    }
+
+    String nome() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static ModoThreads de(String valor) {
+        return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.patinhaas.backend.carga;
+
+import java.net.http.HttpRequest;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Uma operação do mix de carga. {@code rota} identifica a operação nos relatórios.
+ */
+record OperacaoCarga(String nome, String rota, int peso, Function<Random, HttpRequest> requisicao) {
+}
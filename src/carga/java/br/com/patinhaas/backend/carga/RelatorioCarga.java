@@ -0,0 +1,111 @@
+package br.com.patinhaas.backend.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Grava um arquivo .hgrm por taxa e rota (percentis em milissegundos, no formato lido pelo
+ * HdrHistogram plotter) e um resumo com p50/p99/p999 e a maior taxa sustentável. Quando mais
+ * de um modo de threads é medido, grava também o comparativo entre eles.
+ */
+final class RelatorioCarga {
+
+    // Erros tolerados para uma taxa ainda ser considerada sustentável
+    private static final double TAXA_ERRO_MAXIMA = 0.01;
+
+    private static final double MICROS_POR_MILISSEGUNDO = 1000.0;
+
+    private final Path saida;
+
+    private final Duration sloP99;
+
+    RelatorioCarga(Path saida, Duration sloP99) throws IOException {
+        this.saida = Files.createDirectories(saida);
+        this.sloP99 = sloP99;
+    }
+
+    void gravarEtapa(GeradorCargaAberta.ResultadoEtapa etapa) throws IOException {
+        for (var latencia : etapa.latencias().entrySet()) {
+            gravarHistograma(etapa.taxa() + "rps-" + arquivo(latencia.getKey()), latencia.getValue());
+        }
+        gravarHistograma(etapa.taxa() + "rps-total", etapa.consolidado());
+    }
+
+    /**
+     * @return maior taxa sustentável, ou 0 se nenhuma atendeu ao SLO
+     */
+    int gravarResumo(List<GeradorCargaAberta.ResultadoEtapa> etapas) throws IOException {
+        int sustentavel = 0;
+        boolean reprovada = false;
+        StringBuilder resumo = new StringBuilder();
+        resumo.append(String.format(Locale.ROOT, "%-8s %-45s %10s %8s %10s %10s %10s %10s%n",
+                "taxa", "rota", "respostas", "erros", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (GeradorCargaAberta.ResultadoEtapa etapa : etapas) {
+            for (var latencia : etapa.latencias().entrySet()) {
+                linha(resumo, etapa.taxa(), latencia.getKey(), latencia.getValue(), etapa.erros().get(latencia.getKey()));
+            }
+            Histogram total = etapa.consolidado();
+            linha(resumo, etapa.taxa(), "TOTAL", total, etapa.totalErros());
+
+            boolean dentroDoSlo = total.getValueAtPercentile(99.0) <= sloP99.toNanos() / 1000
+                    && etapa.totalErros() <= etapa.enviadas() * TAXA_ERRO_MAXIMA;
+            resumo.append(String.format(Locale.ROOT, "  disparo em %.1fs, sem resposta: %d, %s%n%n",
+                    etapa.duracaoEnvio().toMillis() / 1000.0, etapa.semResposta(),
+                    dentroDoSlo ? "sustentável" : "acima do SLO"));
+            // Taxas são medidas em ordem crescente: a primeira reprovada encerra a busca
+            reprovada |= !dentroDoSlo;
+            if (!reprovada) {
+                sustentavel = etapa.taxa();
+            }
+        }
+        resumo.append(String.format(Locale.ROOT, "Maior taxa sustentável (p99 <= %d ms, erros <= %.0f%%): %d req/s%n",
+                sloP99.toMillis(), TAXA_ERRO_MAXIMA * 100, sustentavel));
+
+        Files.writeString(saida.resolve("resumo.txt"), resumo, StandardCharsets.UTF_8);
+        System.out.print(resumo);
+        return sustentavel;
+    }
+
+    /**
+     * Compara a maior taxa sustentável de cada modo de threads, medidos contra o mesmo banco.
+     */
+    static void gravarComparativo(Path saida, int tomcatThreads, Map<ModoThreads, Integer> sustentaveis)
+            throws IOException {
+        StringBuilder comparativo = new StringBuilder();
+        comparativo.append(String.format(Locale.ROOT, "%-12s %22s%n", "threads", "sustentável (req/s)"));
+        sustentaveis.forEach((modo, taxa) -> comparativo.append(String.format(Locale.ROOT, "%-12s %22d%n",
+                modo == ModoThreads.PLATAFORMA ? modo.nome() + " (" + tomcatThreads + ")" : modo.nome(), taxa)));
+
+        Files.writeString(Files.createDirectories(saida).resolve("comparativo.txt"), comparativo, StandardCharsets.UTF_8);
+        System.out.print(comparativo);
+    }
+
+    private void linha(StringBuilder resumo, int taxa, String rota, Histogram histograma, long erros) {
+        resumo.append(String.format(Locale.ROOT, "%-8d %-45s %10d %8d %10.2f %10.2f %10.2f %10.2f%n",
+                taxa, rota, histograma.getTotalCount(), erros,
+                histograma.getValueAtPercentile(50.0) / MICROS_POR_MILISSEGUNDO,
+                histograma.getValueAtPercentile(99.0) / MICROS_POR_MILISSEGUNDO,
+                histograma.getValueAtPercentile(99.9) / MICROS_POR_MILISSEGUNDO,
+                histograma.getMaxValue() / MICROS_POR_MILISSEGUNDO));
+    }
+
+    private void gravarHistograma(String nome, Histogram histograma) throws IOException {
+        try (PrintStream arquivo = new PrintStream(Files.newOutputStream(saida.resolve(nome + ".hgrm")), true,
+                StandardCharsets.UTF_8)) {
+            histograma.outputPercentileDistribution(arquivo, MICROS_POR_MILISSEGUNDO);
+        }
+    }
+
+    private static String arquivo(String rota) {
+        return rota.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
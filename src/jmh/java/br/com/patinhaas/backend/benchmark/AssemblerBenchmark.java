@@ -0,0 +1,50 @@
+package br.com.patinhaas.backend.benchmark;
+
+import br.com.patinhaas.backend.api.v2.converter.IdeiaAssemblerV2;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaResponseDTO;
+import br.com.patinhaas.backend.domain.model.Ideia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de listas inteiras para DTO, como fazem as listagens sem paginação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AssemblerBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int tamanho;
+
+    private IdeiaAssemblerV2 assembler;
+
+    private List<Ideia> corpus;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        assembler = Componentes.criar(IdeiaAssemblerV2.class, "metricas", Componentes.metricas());
+        corpus = CorpusSintetico.gerar(tamanho);
+    }
+
+    @Benchmark
+    public List<IdeiaResponseDTO> toListDTO() {
+        return assembler.toListDTO(corpus);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.patinhaas.backend.benchmark;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.infra.metricas.MetricasAplicacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Monta os componentes do domínio sem subir o contexto Spring, para que o benchmark meça
+ * só o código da aplicação. Os valores de {@code @Value} são os padrões de produção.
+ */
+final class Componentes {
+
+    private Componentes() {
+    }
+
+    static <T> T criar(Class<T> tipo, Object... campos) {
+        try {
+            T instancia = tipo.getDeclaredConstructor().newInstance();
+            for (int i = 0; i < campos.length; i += 2) {
+                definir(instancia, (String) campos[i], campos[i + 1]);
+            }
+            return instancia;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Não foi possível criar " + tipo.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Métricas em um registry em memória, para que o custo da instrumentação entre na medição
+     * como em produção.
+     */
+    static MetricasAplicacao metricas() {
+        return criar(MetricasAplicacao.class, "registry", new SimpleMeterRegistry());
+    }
+
+    /**
+     * Repositório em memória que atende apenas findAllById, a única leitura da busca por texto
+     * no modo INDICE. Qualquer outra chamada falha para não mascarar acesso ao banco.
+     */
+    static IdeiaRepository repositorio(List<Ideia> ideias) {
+        Map<String, Ideia> porId = ideias.stream().collect(Collectors.toMap(Ideia::getId, Function.identity()));
+        return (IdeiaRepository) Proxy.newProxyInstance(IdeiaRepository.class.getClassLoader(),
+                new Class<?>[]{IdeiaRepository.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("findAllById")) {
+                        List<Ideia> encontradas = new ArrayList<>();
+                        for (Object id : (Iterable<?>) args[0]) {
+                            Ideia ideia = porId.get(id);
+                            if (ideia != null) {
+                                encontradas.add(ideia);
+                            }
+                        }
+                        return encontradas;
+                    }
+                    if (metodo.getName().equals("toString")) {
+                        return "IdeiaRepository em memória";
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+
+    private static void definir(Object alvo, String nome, Object valor) throws ReflectiveOperationException {
+        Field campo = alvo.getClass().getDeclaredField(nome);
+        campo.setAccessible(true);
+        campo.set(alvo, valor);
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.patinhaas.backend.benchmark;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.service.similaridade.CampoTexto;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Gera ideias em português com vocabulário de inovação bancária, já tokenizadas como no
+ * IdeiaService.save. A semente fixa torna o corpus idêntico entre execuções, para que
+ * resultados antes e depois de uma mudança sejam comparáveis.
+ */
+final class CorpusSintetico {
+
+    private static final long SEMENTE = 20251017L;
+
+    private static final String[] ACOES = {
+            "automatizar", "reduzir", "otimizar", "digitalizar", "integrar", "simplificar", "monitorar",
+            "padronizar", "eliminar", "acelerar", "prever", "priorizar", "validar", "centralizar"
+    };
+
+    private static final String[] OBJETOS = {
+            "atendimento", "agência", "cliente", "conta", "crédito", "financiamento", "habitacional",
+            "pagamento", "boleto", "pix", "cadastro", "documentação", "contrato", "fila", "aplicativo",
+            "relatório", "auditoria", "fraude", "risco", "conformidade", "benefício", "fgts", "seguro",
+            "empréstimo", "cobrança", "inadimplência", "chamado", "processo", "planilha", "sistema",
+            "indicador", "dados", "energia", "papel", "carbono", "parceiro", "lotérica", "correspondente"
+    };
+
+    private static final String[] CONTEXTOS = {
+            "com inteligência artificial", "por meio de chatbot", "usando aprendizado de máquina",
+            "com assinatura eletrônica", "através de painel gerencial", "com reconhecimento de imagem",
+            "via API aberta", "com notificações no aplicativo", "em tempo real", "na rede de agências",
+            "para pequenas empresas", "para beneficiários de programas sociais", "no atendimento remoto"
+    };
+
+    private static final String[] LIGACOES = {
+            "o que diminui", "evitando", "aumentando", "garantindo", "melhorando", "e reduz", "sem"
+    };
+
+    private static final String[] RESULTADOS = {
+            "o tempo de espera", "o retrabalho manual", "os custos operacionais", "as reclamações",
+            "a satisfação do cliente", "o prazo de análise", "as perdas com fraude", "o consumo de papel",
+            "a rastreabilidade", "os erros de digitação", "a taxa de conversão", "o risco regulatório"
+    };
+
+    private static final String[] HORIZONTES = {"H1", "H2", "H3"};
+
+    private CorpusSintetico() {
+    }
+
+    static List<Ideia> gerar(int quantidade) {
+        Random random = new Random(SEMENTE);
+        List<Ideia> ideias = new ArrayList<>(quantidade);
+        OffsetDateTime agora = OffsetDateTime.now();
+        for (int i = 0; i < quantidade; i++) {
+            Ideia ideia = new Ideia();
+            ideia.setId(new UUID(random.nextLong(), random.nextLong()).toString());
+            ideia.setNomeProponente("Proponente " + i);
+            ideia.setMatriculaProponente(String.format("c%06d", i));
+            ideia.setUnidadeProponente("GEINO" + random.nextInt(40));
+            ideia.setNomeExperimento(capitalizar(escolher(random, ACOES)) + " " + escolher(random, OBJETOS)
+                    + " " + escolher(random, CONTEXTOS));
+            ideia.setDesafioProblema(paragrafo(random, 3 + random.nextInt(3)));
+            ideia.setSolucaoDescricao(paragrafo(random, 3 + random.nextInt(3)));
+            ideia.setMetodologiaExecucao(paragrafo(random, 2 + random.nextInt(2)));
+            ideia.setHipotesePrincipal("Se " + frase(random) + ", então " + escolher(random, RESULTADOS) + " melhora");
+            ideia.setHorizonteInovacao(escolher(random, HORIZONTES));
+            ideia.setBaselineAtual(frase(random));
+            ideia.setResultadosEsperados(frase(random));
+            ideia.setKpisSmart(frase(random));
+            ideia.setCategoria(CategoriaEnum.values()[random.nextInt(CategoriaEnum.values().length)]);
+            ideia.setStatus(Status.values()[random.nextInt(Status.values().length)]);
+            ideia.setDataCriacao(agora.minusMinutes(i));
+            CampoTexto.tokenizarCampos(ideia);
+            ideias.add(ideia);
+        }
+        return ideias;
+    }
+
+    /**
+     * Texto livre no formato enviado pelo agente para POST /ideias/buscar-semelhantes.
+     */
+    static String consulta(Random random) {
+        return paragrafo(random, 2);
+    }
+
+    private static String paragrafo(Random random, int frases) {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < frases; i++) {
+            texto.append(capitalizar(frase(random))).append(". ");
+        }
+        return texto.toString().trim();
+    }
+
+    private static String frase(Random random) {
+        return escolher(random, ACOES) + " " + escolher(random, OBJETOS) + " e " + escolher(random, OBJETOS)
+                + " " + escolher(random, CONTEXTOS) + ", " + escolher(random, LIGACOES) + " "
+                + escolher(random, RESULTADOS);
+    }
+
+    private static String escolher(Random random, String[] opcoes) {
+        return opcoes[random.nextInt(opcoes.length)];
+    }
+
+    private static String capitalizar(String texto) {
+        return Character.toUpperCase(texto.charAt(0)) + texto.substring(1);
+    }
+}
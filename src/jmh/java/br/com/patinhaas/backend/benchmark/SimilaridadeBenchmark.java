@@ -0,0 +1,120 @@
+package br.com.patinhaas.backend.benchmark;
+
+import br.com.patinhaas.backend.api.v2.converter.IdeiaAssemblerV2;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiasSemelhantesResponseDTO;
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.service.IdeiaService;
+import br.com.patinhaas.backend.domain.service.similaridade.AvaliacaoSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.CalculadoraSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.CampoTexto;
+import br.com.patinhaas.backend.domain.service.similaridade.IndiceInvertidoIdeias;
+import br.com.patinhaas.backend.domain.service.similaridade.ModoRecuperacao;
+import br.com.patinhaas.backend.domain.service.similaridade.TermosIdeia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos de similaridade sobre corpora sintéticos de 1k, 10k e 100k ideias.
+ * <p>
+ * {@code avaliarContra} é a varredura completa de uma ideia contra o acervo, feita pelo
+ * recálculo da vizinhança e por findSimilarIdeias; {@code buscarPorTexto} é
+ * findSimilarIdeiasFromTextWithDetails no modo INDICE, com o repositório em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SimilaridadeBenchmark {
+
+    // Quantidade de pares e consultas pré-sorteados, percorridos em ciclo
+    private static final int AMOSTRAS = 1024;
+
+    @Param({"1000", "10000", "100000"})
+    private int tamanho;
+
+    private CalculadoraSimilaridade calculadora;
+
+    private IdeiaService ideiaService;
+
+    private IdeiaAssemblerV2 assembler;
+
+    private List<TermosIdeia> termos;
+
+    private final TermosIdeia[] bases = new TermosIdeia[AMOSTRAS];
+
+    private final TermosIdeia[] candidatas = new TermosIdeia[AMOSTRAS];
+
+    private final String[] consultas = new String[AMOSTRAS];
+
+    private int proxima;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        List<Ideia> corpus = CorpusSintetico.gerar(tamanho);
+
+        calculadora = Componentes.criar(CalculadoraSimilaridade.class, "minimoParalelo", 2000);
+        IndiceInvertidoIdeias indice = Componentes.criar(IndiceInvertidoIdeias.class, "k1", 1.2, "b", 0.75);
+        indice.reconstruir(corpus);
+        ideiaService = Componentes.criar(IdeiaService.class,
+                "ideiaRepository", Componentes.repositorio(corpus),
+                "calculadora", calculadora,
+                "indiceInvertido", indice,
+                "maxCandidatos", 200,
+                "tamanhoBloco", 2000,
+                "modoRecuperacao", ModoRecuperacao.INDICE,
+                "metricas", Componentes.metricas());
+        assembler = Componentes.criar(IdeiaAssemblerV2.class, "metricas", Componentes.metricas());
+        termos = calculadora.termos(corpus);
+
+        Random random = new Random(tamanho);
+        for (int i = 0; i < AMOSTRAS; i++) {
+            bases[i] = termos.get(random.nextInt(tamanho));
+            candidatas[i] = termos.get(random.nextInt(tamanho));
+            consultas[i] = CorpusSintetico.consulta(random);
+        }
+    }
+
+    @Benchmark
+    public double calculateTextSimilarity() {
+        int i = avancar();
+        return calculadora.calculateTextSimilarity(bases[i].get(CampoTexto.DESAFIO_PROBLEMA),
+                candidatas[i].get(CampoTexto.DESAFIO_PROBLEMA));
+    }
+
+    @Benchmark
+    public double calculateSimilarity() {
+        int i = avancar();
+        return calculadora.calculateSimilarity(bases[i], candidatas[i]);
+    }
+
+    @Benchmark
+    public List<AvaliacaoSimilaridade> avaliarContra() {
+        return calculadora.avaliarContra(bases[avancar()], termos);
+    }
+
+    @Benchmark
+    public IdeiasSemelhantesResponseDTO buscarPorTexto() {
+        return ideiaService.findSimilarIdeiasFromTextWithDetails(consultas[avancar()], assembler, 20, 0, false, false);
+    }
+
+    private int avancar() {
+        proxima = (proxima + 1) & (AMOSTRAS - 1);
+        return proxima;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.patinhaas.backend.api.exceptionhandler;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Exceções de framework que não podem receber {@code @ResponseStatus}. As respostas seguem pelo
+ * sendError, com o mesmo corpo de erro das exceções de domínio.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Outra escrita gravou uma versão mais nova da entidade entre a leitura e o commit.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public void tratarConflitoDeVersao(ObjectOptimisticLockingFailureException e,
+                                       HttpServletResponse response) throws IOException {
+        response.sendError(HttpStatus.CONFLICT.value(),
+                "O registro foi alterado por outra requisição; recarregue e tente novamente");
+    }
+}
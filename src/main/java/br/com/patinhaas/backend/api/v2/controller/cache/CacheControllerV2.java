@@ -0,0 +1,26 @@
+package br.com.patinhaas.backend.api.v2.controller.cache;
+
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static br.com.patinhaas.backend.infra.web.PatinhasMediaType.V2_APPLICATION_JSON_VALUE;
+
+@RestController
+@RequestMapping(value = "/cache", produces = V2_APPLICATION_JSON_VALUE)
+public class CacheControllerV2 {
+
+    @Autowired
+    private List<CacheRespostaJson> caches;
+
+    @GetMapping("/estatisticas")
+    public List<CacheRespostaJson.Estatisticas> estatisticas() {
+        return caches.stream()
+                .map(CacheRespostaJson::estatisticas)
+                .toList();
+    }
+}
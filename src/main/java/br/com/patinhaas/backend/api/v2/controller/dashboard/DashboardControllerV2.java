@@ -0,0 +1,38 @@
+package br.com.patinhaas.backend.api.v2.controller.dashboard;
+
+import br.com.patinhaas.backend.api.v2.dto.dashboard.DashboardResumoResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.dashboard.TendenciaResponseDTO;
+import br.com.patinhaas.backend.domain.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+import static br.com.patinhaas.backend.infra.web.PatinhasMediaType.V2_APPLICATION_JSON_VALUE;
+
+@RestController
+@RequestMapping(value = "/dashboard", produces = V2_APPLICATION_JSON_VALUE)
+public class DashboardControllerV2 {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping("/resumo")
+    public DashboardResumoResponseDTO resumo() {
+        return dashboardService.findResumo();
+    }
+
+    /**
+     * Série diária dos últimos 12 meses por padrão; períodos acima de
+     * {@value DashboardService#DIAS_MAXIMO_TENDENCIA} dias são recusados.
+     */
+    @GetMapping("/tendencia")
+    public TendenciaResponseDTO tendencia(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return dashboardService.findTendencia(inicio, fim);
+    }
+}
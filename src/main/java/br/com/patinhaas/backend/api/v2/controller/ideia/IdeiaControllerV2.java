@@ -1,25 +1,55 @@
 package br.com.patinhaas.backend.api.v2.controller.ideia;
 
+import br.com.patinhaas.backend.api.v2.converter.ConversorEnums;
 import br.com.patinhaas.backend.api.v2.converter.IdeiaAssemblerV2;
 import br.com.patinhaas.backend.api.v2.converter.ProblemaAssemblerV2;
+import br.com.patinhaas.backend.api.v2.dto.CursorPaginaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.PaginaResponseDTO;
 import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaRequestDTO;
 import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaResumoResponseDTO;
 import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiasSemelhantesResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.ideia.PossivelDuplicataDTO;
 import br.com.patinhaas.backend.api.v2.dto.ideia.ProblemaComIdeiasResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.AtualizacaoStatusLoteRequestDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.AtualizacaoStatusLoteResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.ResultadoLoteResponseDTO;
+import br.com.patinhaas.backend.domain.exception.BuscaSimilaridadeSobrecarregadaException;
 import br.com.patinhaas.backend.domain.model.Ideia;
 import br.com.patinhaas.backend.domain.model.Problema;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
 import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaResumo;
 import br.com.patinhaas.backend.domain.service.IdeiaService;
+import br.com.patinhaas.backend.domain.service.LoteService;
 import br.com.patinhaas.backend.domain.service.ProblemaService;
+import br.com.patinhaas.backend.domain.service.avaliacao.FilaAvaliacaoIA;
+import br.com.patinhaas.backend.domain.service.paginacao.PaginaKeyset;
+import br.com.patinhaas.backend.domain.service.similaridade.PrazoBusca;
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import br.com.patinhaas.backend.infra.web.ExportadorNdjson;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 
+import static br.com.patinhaas.backend.infra.web.ExportadorNdjson.APPLICATION_NDJSON_VALUE;
 import static br.com.patinhaas.backend.infra.web.PatinhasMediaType.V2_APPLICATION_JSON_VALUE;
 
 @RestController
@@ -35,45 +65,103 @@ public class IdeiaControllerV2 {
     @Autowired
     private IdeiaAssemblerV2 ideiaAssembler;
 
+    @Autowired
+    private ExportadorNdjson exportadorNdjson;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    @Qualifier("cacheIdeiasJson")
+    private CacheRespostaJson cacheJson;
+
     @Autowired
     private ProblemaService problemaService;
 
     @Autowired
     private ProblemaAssemblerV2 problemaAssembler;
 
+    @Autowired
+    private FilaAvaliacaoIA filaAvaliacao;
+
+    @Autowired
+    @Qualifier("similaridadeExecutor")
+    private ThreadPoolTaskExecutor similaridadeExecutor;
+
+    // Tempo que a busca por texto pode gastar pontuando candidatos antes de responder com o parcial
+    @Value("${patinhas.similaridade.orcamento-ms:2000}")
+    private long orcamentoPadraoMs;
+
+    @Value("${patinhas.similaridade.orcamento-maximo-ms:10000}")
+    private long orcamentoMaximoMs;
+
+    // Mesmo formato de /problemas/filtro; status ou categoria desconhecidos devolvem 400
+    @GetMapping("/filtro")
+    public PaginaResponseDTO<IdeiaResponseDTO> filtrar(
+            @RequestParam(value = "nome", required = false) String nomeExperimento,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String categoria,
+            @PageableDefault(size = 20, sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable) {
+        Status statusEnum = status == null ? null : ConversorEnums.status(status);
+        CategoriaEnum categoriaEnum = categoria == null ? null : ConversorEnums.categoria(categoria);
+
+        Page<Ideia> ideias = ideiaService.findIdeiasComFiltros(nomeExperimento, statusEnum, categoriaEnum, pageable);
+        return PaginaResponseDTO.of(ideias.map(ideiaAssembler::toDTO));
+    }
+
     @GetMapping("/listar")
-    public List<IdeiaResponseDTO> listar() {
-        List<Ideia> ideias = ideiaRepository.findAll();
-        return ideiaAssembler.toListDTO(ideias);
+    public CursorPaginaResponseDTO<IdeiaResumoResponseDTO> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PaginaKeyset.TAMANHO_PADRAO) int tamanho) {
+        PaginaKeyset<IdeiaResumo> pagina = ideiaService.findPagina(cursor, tamanho);
+        return CursorPaginaResponseDTO.of(pagina.map(ideiaAssembler::toResumoDTO));
+    }
+
+    @GetMapping(value = "/exportar", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return exportadorNdjson.exportar(ideiaService::exportar, ideiaAssembler::toDTO);
+    }
+
+    @PostMapping("/lote")
+    public ResultadoLoteResponseDTO criarLote(@RequestBody List<IdeiaRequestDTO> dtos) {
+        return loteService.criar(dtos, ideiaAssembler::toDomain, ideiaService::saveAll, Ideia::getId);
     }
 
     @PostMapping()
     @ResponseStatus(HttpStatus.CREATED)
     public IdeiaResponseDTO criar(@RequestBody @Valid IdeiaRequestDTO dto) {
-        Ideia ideia = ideiaAssembler.toDomain(dto);
-        return ideiaAssembler.toDTO(ideiaService.save(ideia));
+        Ideia ideia = ideiaService.save(ideiaAssembler.toDomain(dto));
+
+        IdeiaResponseDTO response = ideiaAssembler.toDTO(ideia);
+        response.setPossiveisDuplicatas(ideiaService.findPossiveisDuplicatas(ideia).stream()
+                .map(candidato -> new PossivelDuplicataDTO(candidato.ideiaId(), candidato.similaridade() * 100))
+                .toList());
+        return response;
     }
 
     @GetMapping("/status/{status}")
-    public List<IdeiaResponseDTO> buscarPorStatus(@PathVariable String status) {
-        Status statusEnum = Status.valueOf(status.toUpperCase());
-        List<Ideia> ideias = ideiaService.findByStatus(statusEnum);
-        return ideiaAssembler.toListDTO(ideias);
+    public List<IdeiaResumoResponseDTO> buscarPorStatus(@PathVariable String status) {
+        Status statusEnum = ConversorEnums.status(status);
+        List<IdeiaResumo> ideias = ideiaService.findResumosByStatus(statusEnum);
+        return ideiaAssembler.toListResumoDTO(ideias);
     }
 
     @GetMapping("/{id}")
-    public IdeiaResponseDTO buscarPorId(@PathVariable String id) {
-        return ideiaAssembler.toDTO(ideiaService.findById(id));
+    public byte[] buscarPorId(@PathVariable String id) {
+        // Acertos do cache não consultam o banco nem serializam novamente
+        return cacheJson.obter(id, () -> {
+            Ideia ideia = ideiaService.findById(id);
+            return new CacheRespostaJson.Versionado(ideia.getVersao(), ideiaAssembler.toDTO(ideia));
+        });
     }
 
     @GetMapping("/{id}/com-ideias")
     public ProblemaComIdeiasResponseDTO buscarProblemaComIdeias(@PathVariable String id) {
         Problema problema = problemaService.findById(id);
-        List<Ideia> ideiasRelacionadas = ideiaService.findByStatusAndCategoria(Status.ABERTO, problema.getCategoria());
 
         return new ProblemaComIdeiasResponseDTO(
                 problemaAssembler.toDTO(problema),
-                ideiaAssembler.toListDTO(ideiasRelacionadas)
+                ideiaService.findAbertasPorCategoria(problema.getCategoria(), ideiaAssembler)
         );
     }
 
@@ -88,8 +176,13 @@ public class IdeiaControllerV2 {
     @PutMapping("/{id}/status")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void atualizarStatus(@PathVariable String id, @RequestParam String status) {
-        Status statusEnum = Status.valueOf(status.toUpperCase());
-        ideiaService.updateStatus(id, statusEnum);
+        ideiaService.updateStatus(id, ConversorEnums.status(status));
+    }
+
+    @PutMapping("/lote/status")
+    public AtualizacaoStatusLoteResponseDTO atualizarStatusEmLote(@RequestBody @Valid AtualizacaoStatusLoteRequestDTO dto) {
+        Status statusEnum = ConversorEnums.status(dto.getStatus());
+        return new AtualizacaoStatusLoteResponseDTO(dto.getIds().size(), ideiaService.updateStatusEmLote(dto.getIds(), statusEnum));
     }
 
     @PutMapping("/{id}/avaliacao-ia")
@@ -98,30 +191,67 @@ public class IdeiaControllerV2 {
         ideiaService.updateAvaliacaoIA(id, avaliacao);
     }
 
+    /**
+     * Pede uma nova avaliação por IA, feita em background pela fila. Responde 503 quando a
+     * fila está cheia.
+     */
+    @PostMapping("/{id}/avaliacao-ia")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void solicitarAvaliacaoIA(@PathVariable String id) {
+        ideiaService.findById(id);
+        filaAvaliacao.solicitar(id);
+    }
+
+    @GetMapping("/avaliacao-ia/fila")
+    public FilaAvaliacaoIA.Estatisticas statusFilaAvaliacaoIA() {
+        return filaAvaliacao.estatisticas();
+    }
+
     @PutMapping("/{id}/avaliacao-humana")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void atualizarAvaliacaoHumana(@PathVariable String id, @RequestBody String avaliacao) {
         ideiaService.updateAvaliacaoHumana(id, avaliacao);
     }
 
+    /**
+     * Atendida no executor de similaridade, liberando a thread da requisição. O ranking vem da
+     * vizinhança materializada, então a resposta nunca é parcial. Offsets acima de
+     * {@link IdeiaService#OFFSET_MAXIMO_SEMELHANTES} devolvem 400.
+     */
     @GetMapping("/{id}/semelhantes")
-    public IdeiasSemelhantesResponseDTO buscarIdeiasSemelhantes(@PathVariable String id) {
-        return ideiaService.findSimilarIdeiasWithDetails(id, ideiaAssembler);
+    public CompletableFuture<IdeiasSemelhantesResponseDTO> buscarIdeiasSemelhantes(@PathVariable String id,
+                                                                                   @RequestParam(defaultValue = "20") int limit,
+                                                                                   @RequestParam(defaultValue = "0") int offset,
+                                                                                   @RequestParam(defaultValue = "true") boolean contarTotal,
+                                                                                   @RequestParam(defaultValue = "true") boolean explain) {
+        return emSegundoPlano(() -> ideiaService.findSimilarIdeiasWithDetails(id, ideiaAssembler, limit, offset, contarTotal, explain));
     }
 
+    /**
+     * Atendida no executor de similaridade, com prazo de {@code orcamentoMs} (limitado a
+     * {@code patinhas.similaridade.orcamento-maximo-ms}) contado desde a chegada da requisição.
+     * Esgotado o prazo, devolve os melhores resultados já encontrados com {@code parcial=true}.
+     * Offsets acima de {@link IdeiaService#OFFSET_MAXIMO_SEMELHANTES} devolvem 400.
+     */
     @PostMapping("/buscar-semelhantes")
-    public IdeiasSemelhantesResponseDTO buscarIdeiasSemelhantesTexto(@RequestBody String textoDescricao) {
-        return ideiaService.findSimilarIdeiasFromTextWithDetails(textoDescricao, ideiaAssembler);
+    public CompletableFuture<IdeiasSemelhantesResponseDTO> buscarIdeiasSemelhantesTexto(@RequestBody String textoDescricao,
+                                                                                        @RequestParam(defaultValue = "20") int limit,
+                                                                                        @RequestParam(defaultValue = "0") int offset,
+                                                                                        @RequestParam(defaultValue = "true") boolean contarTotal,
+                                                                                        @RequestParam(defaultValue = "true") boolean explain,
+                                                                                        @RequestParam(required = false) Long orcamentoMs) {
+        long orcamento = Math.max(1, Math.min(orcamentoMs != null ? orcamentoMs : orcamentoPadraoMs, orcamentoMaximoMs));
+        PrazoBusca prazo = PrazoBusca.de(Duration.ofMillis(orcamento));
+        return emSegundoPlano(() -> ideiaService.findSimilarIdeiasFromTextWithDetails(textoDescricao, ideiaAssembler,
+                limit, offset, contarTotal, explain, prazo));
     }
 
     @GetMapping("/buscar")
-    public ResponseEntity<List<IdeiaResponseDTO>> buscarPorNome(
+    public ResponseEntity<List<IdeiaResumoResponseDTO>> buscarPorNome(
             @RequestParam("nome") String nomeExperimento) {
 
-        List<Ideia> ideias = ideiaService.findByNomeExperimento(nomeExperimento);
-        List<IdeiaResponseDTO> response = ideias.stream()
-                .map(ideiaAssembler::toDTO)
-                .collect(java.util.stream.Collectors.toList());
+        List<IdeiaResumo> ideias = ideiaService.findResumosByNomeExperimento(nomeExperimento);
+        List<IdeiaResumoResponseDTO> response = ideiaAssembler.toListResumoDTO(ideias);
 
         return ResponseEntity.ok(response);
     }
@@ -131,4 +261,13 @@ public class IdeiaControllerV2 {
     public void deletar(@PathVariable String id) {
         ideiaService.delete(id);
     }
+
+    // Exceções da busca (ex.: ideia não encontrada) chegam ao MVC já sem o CompletionException
+    private <T> CompletableFuture<T> emSegundoPlano(Supplier<T> busca) {
+        try {
+            return CompletableFuture.supplyAsync(busca, similaridadeExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new BuscaSimilaridadeSobrecarregadaException(e);
+        }
+    }
 }
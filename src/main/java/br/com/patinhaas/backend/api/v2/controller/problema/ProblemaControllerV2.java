@@ -1,19 +1,43 @@
 package br.com.patinhaas.backend.api.v2.controller.problema;
 
+import br.com.patinhaas.backend.api.v2.converter.ConversorEnums;
+import br.com.patinhaas.backend.api.v2.converter.IdeiaAssemblerV2;
 import br.com.patinhaas.backend.api.v2.converter.ProblemaAssemblerV2;
+import br.com.patinhaas.backend.api.v2.dto.CursorPaginaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.PaginaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiasSemelhantesResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.ResultadoLoteResponseDTO;
 import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaRequestDTO;
 import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaResumoResponseDTO;
 import br.com.patinhaas.backend.domain.model.Problema;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
 import br.com.patinhaas.backend.domain.repository.ProblemaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.ProblemaResumo;
+import br.com.patinhaas.backend.domain.service.IdeiaService;
+import br.com.patinhaas.backend.domain.service.LoteService;
+import br.com.patinhaas.backend.domain.service.MatchingService;
 import br.com.patinhaas.backend.domain.service.ProblemaService;
+import br.com.patinhaas.backend.domain.service.paginacao.PaginaKeyset;
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import br.com.patinhaas.backend.infra.web.ExportadorNdjson;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
 import java.util.List;
 
+import static br.com.patinhaas.backend.infra.web.ExportadorNdjson.APPLICATION_NDJSON_VALUE;
 import static br.com.patinhaas.backend.infra.web.PatinhasMediaType.V2_APPLICATION_JSON_VALUE;
 
 @RestController
@@ -29,22 +53,82 @@ public class ProblemaControllerV2 {
     @Autowired
     private ProblemaAssemblerV2 problemaAssembler;
 
+    @Autowired
+    private IdeiaAssemblerV2 ideiaAssembler;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private ExportadorNdjson exportadorNdjson;
+
+    @Autowired
+    private LoteService loteService;
+
+    @Autowired
+    @Qualifier("cacheProblemasJson")
+    private CacheRespostaJson cacheJson;
+
     @GetMapping
-    public List<ProblemaResponseDTO> listar() {
-        List<Problema> problemas = problemaRepository.findAll();
-        return problemaAssembler.toListDTO(problemas);
+    public CursorPaginaResponseDTO<ProblemaResumoResponseDTO> listar(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PaginaKeyset.TAMANHO_PADRAO) int tamanho) {
+        PaginaKeyset<ProblemaResumo> pagina = problemaService.findPagina(cursor, tamanho);
+        return CursorPaginaResponseDTO.of(pagina.map(problemaAssembler::toResumoDTO));
+    }
+
+    @GetMapping(value = "/exportar", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        return exportadorNdjson.exportar(problemaService::exportar, problemaAssembler::toDTO);
+    }
+
+    // Status ou categoria desconhecidos devolvem 400
+    @GetMapping("/filtro")
+    public PaginaResponseDTO<ProblemaResponseDTO> filtrar(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String unidade,
+            @RequestParam(required = false) BigDecimal impactoFinanceiroMin,
+            @RequestParam(required = false) BigDecimal impactoFinanceiroMax,
+            @RequestParam(required = false) Integer impactoPessoasMin,
+            @RequestParam(required = false) Integer impactoPessoasMax,
+            @PageableDefault(size = 20, sort = "dataCriacao", direction = Sort.Direction.DESC) Pageable pageable) {
+        Status statusEnum = status == null ? null : ConversorEnums.status(status);
+        CategoriaEnum categoriaEnum = categoria == null ? null : ConversorEnums.categoria(categoria);
+
+        Page<Problema> problemas = problemaService.findComFiltros(statusEnum, categoriaEnum, unidade,
+                impactoFinanceiroMin, impactoFinanceiroMax, impactoPessoasMin, impactoPessoasMax, pageable);
+        return PaginaResponseDTO.of(problemas.map(problemaAssembler::toDTO));
     }
 
     @GetMapping("/{id}")
-    public ProblemaResponseDTO buscarPorId(@PathVariable String id) {
-        return problemaAssembler.toDTO(problemaService.findById(id));
+    public byte[] buscarPorId(@PathVariable String id) {
+        // Acertos do cache não consultam o banco nem serializam novamente
+        return cacheJson.obter(id, () -> {
+            Problema problema = problemaService.findById(id);
+            return new CacheRespostaJson.Versionado(problema.getVersao(), problemaAssembler.toDTO(problema));
+        });
+    }
+
+    @GetMapping("/{id}/ideias-recomendadas")
+    public List<IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO> buscarIdeiasRecomendadas(@PathVariable String id,
+                                                                                        @RequestParam(defaultValue = "20") int limit) {
+        problemaService.findById(id);
+        int quantidade = Math.max(1, Math.min(limit, IdeiaService.LIMITE_MAXIMO_SEMELHANTES));
+        return matchingService.findIdeiasRecomendadas(id, quantidade, ideiaAssembler);
+    }
+
+    @PostMapping("/matching/recalcular")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void recalcularMatching() {
+        matchingService.recalcularTudo();
     }
 
     @GetMapping("/status/{status}")
-    public List<ProblemaResponseDTO> buscarPorStatus(@PathVariable String status) {
-        Status statusEnum = Status.valueOf(status.toUpperCase());
-        List<Problema> problemas = problemaService.findByStatus(statusEnum);
-        return problemaAssembler.toListDTO(problemas);
+    public List<ProblemaResumoResponseDTO> buscarPorStatus(@PathVariable String status) {
+        Status statusEnum = ConversorEnums.status(status);
+        List<ProblemaResumo> problemas = problemaService.findResumosByStatus(statusEnum);
+        return problemaAssembler.toListResumoDTO(problemas);
     }
 
     @GetMapping("/email/{email}")
@@ -59,18 +143,16 @@ public class ProblemaControllerV2 {
         return problemaAssembler.toListDTO(problemas);
     }
 
+    @PostMapping("/lote")
+    public ResultadoLoteResponseDTO criarLote(@RequestBody List<ProblemaRequestDTO> dtos) {
+        return loteService.criar(dtos, problemaAssembler::toDomain, problemaService::saveAll, Problema::getId);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ProblemaResponseDTO criar(@RequestBody @Valid ProblemaRequestDTO dto) {
-        System.out.println("Recebendo request: " + dto);
-
         Problema problema = problemaAssembler.toDomain(dto);
-        System.out.println("Problema convertido: " + problema);
-
-        Problema saved = problemaService.save(problema);
-        System.out.println("Problema salvo: " + saved);
-
-        return problemaAssembler.toDTO(saved);
+        return problemaAssembler.toDTO(problemaService.save(problema));
     }
 
     @PutMapping("/{id}")
@@ -84,10 +166,11 @@ public class ProblemaControllerV2 {
     @PutMapping("/{id}/status")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void atualizarStatus(@PathVariable String id, @RequestParam String status) {
-        Status statusEnum = Status.valueOf(status.toUpperCase());
+        Status statusEnum = ConversorEnums.status(status);
         problemaService.updateStatus(id, statusEnum);
     }
 
+    // O score manual é substituído no próximo recálculo do matching do problema
     @PutMapping("/{id}/matching-score")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void atualizarMatchingScore(@PathVariable String id, @RequestParam Double score) {
@@ -0,0 +1,32 @@
+package br.com.patinhaas.backend.api.v2.converter;
+
+import br.com.patinhaas.backend.domain.exception.CategoriaInvalidaException;
+import br.com.patinhaas.backend.domain.exception.StatusInvalidoException;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+
+/**
+ * Converte os enums recebidos como texto (path, query ou corpo) pelos controllers. Valores
+ * desconhecidos são erro do cliente (400), e não o IllegalArgumentException do valueOf (500).
+ */
+public final class ConversorEnums {
+
+    private ConversorEnums() {
+    }
+
+    public static Status status(String status) {
+        try {
+            return Status.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new StatusInvalidoException(status);
+        }
+    }
+
+    public static CategoriaEnum categoria(String categoria) {
+        try {
+            return CategoriaEnum.valueOf(categoria.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CategoriaInvalidaException(categoria);
+        }
+    }
+}
@@ -2,7 +2,11 @@ package br.com.patinhaas.backend.api.v2.converter;
 
 import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaRequestDTO;
 import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaResumoResponseDTO;
 import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaResumo;
+import br.com.patinhaas.backend.infra.metricas.MetricasAplicacao;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -11,6 +15,9 @@ import java.util.stream.Collectors;
 @Component
 public class IdeiaAssemblerV2 {
 
+    @Autowired
+    private MetricasAplicacao metricas;
+
     public IdeiaResponseDTO toDTO(Ideia ideia) {
         if (ideia == null) {
             return null;
@@ -90,8 +97,32 @@ public class IdeiaAssemblerV2 {
     }
 
     public List<IdeiaResponseDTO> toListDTO(List<Ideia> ideias) {
-        return ideias.stream()
+        return metricas.medirConversao("IdeiaAssemblerV2.toListDTO", () -> ideias.stream()
                 .map(this::toDTO)
+                .collect(Collectors.toList()), List::size);
+    }
+
+    public IdeiaResumoResponseDTO toResumoDTO(IdeiaResumo resumo) {
+        if (resumo == null) {
+            return null;
+        }
+
+        IdeiaResumoResponseDTO dto = new IdeiaResumoResponseDTO();
+        dto.setId(resumo.id());
+        dto.setNomeProponente(resumo.nomeProponente());
+        dto.setUnidadeProponente(resumo.unidadeProponente());
+        dto.setNomeExperimento(resumo.nomeExperimento());
+        dto.setHorizonteInovacao(resumo.horizonteInovacao());
+        dto.setCategoria(resumo.categoria());
+        dto.setStatus(resumo.status());
+        dto.setDataCriacao(resumo.dataCriacao());
+
+        return dto;
+    }
+
+    public List<IdeiaResumoResponseDTO> toListResumoDTO(List<IdeiaResumo> resumos) {
+        return resumos.stream()
+                .map(this::toResumoDTO)
                 .collect(Collectors.toList());
     }
 }
@@ -2,7 +2,11 @@ package br.com.patinhaas.backend.api.v2.converter;
 
 import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaRequestDTO;
 import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.probelma.ProblemaResumoResponseDTO;
 import br.com.patinhaas.backend.domain.model.Problema;
+import br.com.patinhaas.backend.domain.repository.projecao.ProblemaResumo;
+import br.com.patinhaas.backend.infra.metricas.MetricasAplicacao;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -11,6 +15,9 @@ import java.util.stream.Collectors;
 @Component
 public class ProblemaAssemblerV2 {
 
+    @Autowired
+    private MetricasAplicacao metricas;
+
     public ProblemaResponseDTO toDTO(Problema problema) {
         if (problema == null) {
             return null;
@@ -73,8 +80,33 @@ public class ProblemaAssemblerV2 {
     }
 
     public List<ProblemaResponseDTO> toListDTO(List<Problema> problemas) {
-        return problemas.stream()
+        return metricas.medirConversao("ProblemaAssemblerV2.toListDTO", () -> problemas.stream()
                 .map(this::toDTO)
+                .collect(Collectors.toList()), List::size);
+    }
+
+    public ProblemaResumoResponseDTO toResumoDTO(ProblemaResumo resumo) {
+        if (resumo == null) {
+            return null;
+        }
+
+        ProblemaResumoResponseDTO dto = new ProblemaResumoResponseDTO();
+        dto.setId(resumo.id());
+        dto.setNome(resumo.nome());
+        dto.setUnidade(resumo.unidade());
+        dto.setCategoria(resumo.categoria());
+        dto.setStatus(resumo.status());
+        dto.setImpactoFinanceiro(resumo.impactoFinanceiro());
+        dto.setImpactoPessoas(resumo.impactoPessoas());
+        dto.setMatchingScore(resumo.matchingScore());
+        dto.setDataCriacao(resumo.dataCriacao());
+
+        return dto;
+    }
+
+    public List<ProblemaResumoResponseDTO> toListResumoDTO(List<ProblemaResumo> resumos) {
+        return resumos.stream()
+                .map(this::toResumoDTO)
                 .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,21 @@
+package br.com.patinhaas.backend.api.v2.dto;
+
+import br.com.patinhaas.backend.domain.service.paginacao.PaginaKeyset;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPaginaResponseDTO<T> {
+
+    private List<T> conteudo;
+    private String proximoCursor; // Nulo na última página
+
+    public static <T> CursorPaginaResponseDTO<T> of(PaginaKeyset<T> pagina) {
+        return new CursorPaginaResponseDTO<>(pagina.conteudo(), pagina.proximoCursor());
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.patinhaas.backend.api.v2.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaResponseDTO<T> {
+
+    private List<T> conteudo;
+    private int pagina;
+    private int tamanho;
+    private long totalElementos;
+    private int totalPaginas;
+
+    public static <T> PaginaResponseDTO<T> of(Page<T> page) {
+        return new PaginaResponseDTO<>(
+                page.getContent(),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.patinhaas.backend.api.v2.dto.dashboard;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardResumoResponseDTO {
+
+    private TotaisDTO ideias;
+    private TotaisDTO problemas;
+    private OffsetDateTime geradoEm; // Momento em que o resumo em cache foi calculado
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TotaisDTO {
+        private long total;
+        private Map<Status, Long> porStatus; // Todos os status, inclusive os sem registros
+        private Map<CategoriaEnum, Long> porCategoria;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private BigDecimal impactoFinanceiroTotal; // Somente problemas
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long impactoPessoasTotal; // Somente problemas
+    }
+}
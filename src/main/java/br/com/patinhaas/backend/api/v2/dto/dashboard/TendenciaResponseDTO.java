@@ -0,0 +1,31 @@
+package br.com.patinhaas.backend.api.v2.dto.dashboard;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TendenciaResponseDTO {
+
+    private LocalDate inicio;
+    private LocalDate fim;
+    private List<PontoDiarioDTO> ideias; // Dias sem registros são omitidos
+    private List<PontoDiarioDTO> problemas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PontoDiarioDTO {
+        private LocalDate dia;
+        private CategoriaEnum categoria;
+        private Status status; // Status atual dos registros criados no dia
+        private int total;
+    }
+}
@@ -2,11 +2,13 @@ package br.com.patinhaas.backend.api.v2.dto.ideia;
 
 import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -32,4 +34,8 @@ public class IdeiaResponseDTO {
     private String avaliacaoIA;
     private String avaliacaoHumana;
     private OffsetDateTime dataCriacao;
+
+    // Preenchido apenas na criação, quando o índice LSH encontra ideias quase idênticas
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<PossivelDuplicataDTO> possiveisDuplicatas;
 }
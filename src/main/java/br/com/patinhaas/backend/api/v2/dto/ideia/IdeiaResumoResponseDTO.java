@@ -0,0 +1,24 @@
+package br.com.patinhaas.backend.api.v2.dto.ideia;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdeiaResumoResponseDTO {
+
+    private String id;
+    private String nomeProponente;
+    private String unidadeProponente;
+    private String nomeExperimento;
+    private String horizonteInovacao;
+    private CategoriaEnum categoria;
+    private Status status;
+    private OffsetDateTime dataCriacao;
+}
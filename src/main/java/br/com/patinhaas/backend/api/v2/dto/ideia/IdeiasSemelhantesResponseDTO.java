@@ -14,8 +14,14 @@ public class IdeiasSemelhantesResponseDTO {
 
     private String ideiaBaseId;
     private String ideiaBaseNome;
-    private int totalEncontradas;
+    private Integer totalEncontradas; // Nulo quando a contagem não foi solicitada; parcial, conta só o que foi avaliado
     private List<IdeiaComScoreDTO> ideiasSemelhantes;
+    private boolean parcial; // Prazo da busca esgotado: melhores resultados entre os candidatos já avaliados
+
+    public IdeiasSemelhantesResponseDTO(String ideiaBaseId, String ideiaBaseNome, Integer totalEncontradas,
+                                        List<IdeiaComScoreDTO> ideiasSemelhantes) {
+        this(ideiaBaseId, ideiaBaseNome, totalEncontradas, ideiasSemelhantes, false);
+    }
 
     @Data
     @NoArgsConstructor
@@ -0,0 +1,13 @@
+package br.com.patinhaas.backend.api.v2.dto.ideia;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PossivelDuplicataDTO {
+    private String ideiaId;
+    private double similaridadePercentual; // Jaccard estimado pelo MinHash (0-100)
+}
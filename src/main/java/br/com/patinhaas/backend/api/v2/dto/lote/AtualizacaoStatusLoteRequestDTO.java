@@ -0,0 +1,24 @@
+package br.com.patinhaas.backend.api.v2.dto.lote;
+
+import br.com.patinhaas.backend.domain.service.IdeiaService;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusLoteRequestDTO {
+
+    @NotEmpty
+    @Size(max = IdeiaService.MAXIMO_IDS_ATUALIZACAO)
+    private List<@NotBlank String> ids;
+
+    @NotBlank
+    private String status;
+}
@@ -0,0 +1,14 @@
+package br.com.patinhaas.backend.api.v2.dto.lote;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusLoteResponseDTO {
+
+    private int solicitados;
+    private int atualizados; // Ids inexistentes ou repetidos não são contados
+}
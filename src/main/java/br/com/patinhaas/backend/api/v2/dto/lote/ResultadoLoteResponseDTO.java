@@ -0,0 +1,34 @@
+package br.com.patinhaas.backend.api.v2.dto.lote;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLoteResponseDTO {
+
+    private int total;
+    private int criados;
+    private int falhas;
+    private List<ItemLoteDTO> itens; // Na mesma ordem do corpo da requisição
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemLoteDTO {
+        private int indice;
+        private String id; // Nulo quando o item não foi gravado
+        private SituacaoItemLote situacao;
+        private List<String> erros;
+    }
+
+    public enum SituacaoItemLote {
+        CRIADO,
+        INVALIDO,
+        ERRO
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.patinhaas.backend.api.v2.dto.probelma;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemaResumoResponseDTO {
+
+    private String id;
+    private String nome;
+    private String unidade;
+    private CategoriaEnum categoria;
+    private Status status;
+    private BigDecimal impactoFinanceiro;
+    private Integer impactoPessoas;
+    private Double matchingScore;
+    private OffsetDateTime dataCriacao;
+}
@@ -0,0 +1,11 @@
+package br.com.patinhaas.backend.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BuscaSimilaridadeSobrecarregadaException extends RuntimeException {
+    public BuscaSimilaridadeSobrecarregadaException(Throwable causa) {
+        super("Buscas por similaridade esgotaram a capacidade do servidor; tente novamente mais tarde", causa);
+    }
+}
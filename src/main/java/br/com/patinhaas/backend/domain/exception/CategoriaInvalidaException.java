@@ -0,0 +1,11 @@
+package br.com.patinhaas.backend.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CategoriaInvalidaException extends IllegalArgumentException {
+    public CategoriaInvalidaException(String categoria) {
+        super(String.format("Categoria inválida: %s", categoria));
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.patinhaas.backend.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class FilaAvaliacaoCheiaException extends RuntimeException {
+    public FilaAvaliacaoCheiaException(int capacidade) {
+        super("Fila de avaliação por IA cheia (capacidade " + capacidade + "); tente novamente mais tarde");
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.patinhaas.backend.domain.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class PaginacaoInvalidaException extends IllegalArgumentException {
+    public PaginacaoInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -75,6 +75,23 @@ public class Ideia {
     private String avaliacaoHumana;
 
     @CreationTimestamp
-    @Column(name = "data_criacao")
+    @Column(name = "data_criacao", nullable = false, updatable = false)
     private OffsetDateTime dataCriacao;
+
+    // Incrementada a cada escrita; compõe a chave do cache de respostas JSON
+    @Version
+    private Long versao;
+
+    // Termos pré-tokenizados gravados pelo IdeiaService, usados pela busca de similaridade
+    @Column(name = "termos_desafio_problema", length = 2000)
+    private String termosDesafioProblema;
+
+    @Column(name = "termos_solucao_descricao", length = 2000)
+    private String termosSolucaoDescricao;
+
+    @Column(name = "termos_nome_experimento", length = 2000)
+    private String termosNomeExperimento;
+
+    @Column(name = "termos_metodologia_execucao", length = 2000)
+    private String termosMetodologiaExecucao;
 }
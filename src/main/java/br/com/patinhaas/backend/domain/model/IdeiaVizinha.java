@@ -0,0 +1,69 @@
+package br.com.patinhaas.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "ideias_vizinhas")
+@IdClass(IdeiaVizinhaId.class)
+public class IdeiaVizinha implements Persistable<IdeiaVizinhaId> {
+
+    private static final String SEPARADOR_CRITERIOS = "|";
+
+    @Id
+    @Column(name = "ideia_id")
+    private String ideiaId;
+
+    @Id
+    @Column(name = "vizinha_id")
+    private String vizinhaId;
+
+    private Double score;
+
+    @Column(length = 1000)
+    private String criterios;
+
+    // Linhas são sempre inseridas novas; evita o SELECT do merge no saveAll
+    @Transient
+    private boolean novo = true;
+
+    public IdeiaVizinha(String ideiaId, String vizinhaId, double score, List<String> criterios) {
+        this.ideiaId = ideiaId;
+        this.vizinhaId = vizinhaId;
+        this.score = score;
+        this.criterios = String.join(SEPARADOR_CRITERIOS, criterios);
+    }
+
+    public List<String> getListaCriterios() {
+        if (criterios == null || criterios.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(Arrays.asList(criterios.split("\\" + SEPARADOR_CRITERIOS)));
+    }
+
+    @Override
+    public IdeiaVizinhaId getId() {
+        return new IdeiaVizinhaId(ideiaId, vizinhaId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        novo = false;
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.patinhaas.backend.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdeiaVizinhaId implements Serializable {
+    private String ideiaId;
+    private String vizinhaId;
+}
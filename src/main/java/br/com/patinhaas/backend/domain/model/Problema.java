@@ -56,9 +56,13 @@ public class Problema {
     private Double matchingScore;
 
     @CreationTimestamp
-    @Column(name = "data_criacao")
+    @Column(name = "data_criacao", nullable = false, updatable = false)
     private OffsetDateTime dataCriacao;
 
+    // Incrementada a cada escrita; compõe a chave do cache de respostas JSON
+    @Version
+    private Long versao;
+
     @Column(name = "impacto_pessoas")
     private Integer impactoPessoas;
 }
@@ -0,0 +1,52 @@
+package br.com.patinhaas.backend.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "problemas_ideias")
+@IdClass(ProblemaIdeiaId.class)
+public class ProblemaIdeia implements Persistable<ProblemaIdeiaId> {
+
+    @Id
+    @Column(name = "problema_id")
+    private String problemaId;
+
+    @Id
+    @Column(name = "ideia_id")
+    private String ideiaId;
+
+    private Double score;
+
+    // Linhas são sempre inseridas novas; evita o SELECT do merge no saveAll
+    @Transient
+    private boolean novo = true;
+
+    public ProblemaIdeia(String problemaId, String ideiaId, double score) {
+        this.problemaId = problemaId;
+        this.ideiaId = ideiaId;
+        this.score = score;
+    }
+
+    @Override
+    public ProblemaIdeiaId getId() {
+        return new ProblemaIdeiaId(problemaId, ideiaId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistida() {
+        novo = false;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.patinhaas.backend.domain.model;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Quantidade de ideias ou problemas criados em um dia, por categoria e status atual.
+ * Somente leitura: os totais são atualizados por deltas no ResumoDiarioRepository.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "resumo_diario")
+public class ResumoDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    private TipoRegistro tipo;
+
+    @Enumerated(EnumType.STRING)
+    private CategoriaEnum categoria;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Integer total;
+}
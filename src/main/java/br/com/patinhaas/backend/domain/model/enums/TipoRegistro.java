@@ -0,0 +1,6 @@
+package br.com.patinhaas.backend.domain.model.enums;
+
+public enum TipoRegistro {
+    IDEIA,
+    PROBLEMA
+}
@@ -3,13 +3,31 @@ package br.com.patinhaas.backend.domain.repository;
 import br.com.patinhaas.backend.domain.model.Ideia;
 import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaTermos;
+import br.com.patinhaas.backend.domain.repository.projecao.TextoAvaliado;
+import br.com.patinhaas.backend.domain.repository.projecao.TotaisStatusCategoria;
+import br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface IdeiaRepository extends JpaRepository<Ideia, String>, JpaSpecificationExecutor<Ideia> {
 
@@ -27,6 +45,9 @@ public interface IdeiaRepository extends JpaRepository<Ideia, String>, JpaSpecif
     @Query("SELECT i FROM Ideia i WHERE i.status = :status AND i.categoria = :categoria")
     List<Ideia> findByStatusAndCategoria(@Param("status") Status status, @Param("categoria") CategoriaEnum categoria);
 
+    @Query("SELECT i FROM Ideia i WHERE i.termosDesafioProblema IS NULL")
+    List<Ideia> findSemTermos();
+
     List<Ideia> findByNomeExperimentoContainingIgnoreCase(String nomeExperimento);
 
     // Ou se preferir com @Query personalizada:
@@ -36,4 +57,100 @@ public interface IdeiaRepository extends JpaRepository<Ideia, String>, JpaSpecif
     // Busca mais avançada por nome do experimento com status específico
     @Query("SELECT i FROM Ideia i WHERE LOWER(i.nomeExperimento) LIKE LOWER(CONCAT('%', :nome, '%')) AND i.status = :status")
     List<Ideia> findByNomeExperimentoLikeAndStatus(@Param("nome") String nomeExperimento, @Param("status") Status status);
+
+    /**
+     * Candidatos para a busca de similaridade pelo índice FULLTEXT ft_ideias_texto, do mais
+     * para o menos relevante.
+     * @param consulta termos separados por espaço (modo de linguagem natural)
+     */
+    @Query(value = "SELECT * FROM ideias " +
+            "WHERE MATCH(desafio_problema, solucao_descricao, nome_experimento) AGAINST (:consulta IN NATURAL LANGUAGE MODE) " +
+            "ORDER BY MATCH(desafio_problema, solucao_descricao, nome_experimento) AGAINST (:consulta IN NATURAL LANGUAGE MODE) DESC " +
+            "LIMIT :limite", nativeQuery = true)
+    List<Ideia> findCandidatosFulltext(@Param("consulta") String consulta, @Param("limite") int limite);
+
+    // Listagens: seleciona só as colunas de IdeiaResumo, sem os campos de texto longo
+    String SELECT_RESUMO = "SELECT new br.com.patinhaas.backend.domain.repository.projecao.IdeiaResumo(" +
+            "i.id, i.nomeProponente, i.unidadeProponente, i.nomeExperimento, i.horizonteInovacao, " +
+            "i.categoria, i.status, i.dataCriacao) FROM Ideia i ";
+
+    @Query(SELECT_RESUMO + "WHERE i.status = :status")
+    List<IdeiaResumo> findResumosByStatus(@Param("status") Status status);
+
+    @Query(SELECT_RESUMO + "WHERE LOWER(i.nomeExperimento) LIKE LOWER(CONCAT('%', :nome, '%'))")
+    List<IdeiaResumo> findResumosByNomeExperimento(@Param("nome") String nomeExperimento);
+
+    // Paginação keyset por (data_criacao DESC, id DESC); o Pageable só limita a quantidade de linhas
+    @Query(SELECT_RESUMO + "ORDER BY i.dataCriacao DESC, i.id DESC")
+    List<IdeiaResumo> findPrimeiraPagina(Pageable pageable);
+
+    @Query(SELECT_RESUMO + "WHERE i.dataCriacao < :dataCriacao " +
+            "OR (i.dataCriacao = :dataCriacao AND i.id < :id) " +
+            "ORDER BY i.dataCriacao DESC, i.id DESC")
+    List<IdeiaResumo> findPaginaApos(@Param("dataCriacao") OffsetDateTime dataCriacao, @Param("id") String id, Pageable pageable);
+
+    // Recálculos de similaridade: só id, categoria e termos, sem os campos de texto longo
+    String SELECT_TERMOS = "SELECT new br.com.patinhaas.backend.domain.repository.projecao.IdeiaTermos(" +
+            "i.id, i.categoria, i.termosDesafioProblema, i.termosSolucaoDescricao, i.termosNomeExperimento, " +
+            "i.termosMetodologiaExecucao) FROM Ideia i ";
+
+    @Query(SELECT_TERMOS)
+    List<IdeiaTermos> findTodosTermos();
+
+    @Query(SELECT_TERMOS + "WHERE i.id IN :ids")
+    List<IdeiaTermos> findTermos(@Param("ids") Collection<String> ids);
+
+    // Carga dos índices em memória: blocos em ordem de id pela chave primária, sem OFFSET
+    @Query(SELECT_TERMOS + "WHERE i.id > :apos ORDER BY i.id")
+    List<IdeiaTermos> findTermosApos(@Param("apos") String apos, Pageable pageable);
+
+    // Exportação: o MySQL Connector/J só entrega linha a linha com fetch size Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Ideia i")
+    Stream<Ideia> streamTodos();
+
+    // Atualizações de um único campo, sem carregar a entidade; o retorno é o número de linhas afetadas
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Ideia i SET i.status = :status, i.versao = i.versao + 1 WHERE i.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Ideia i SET i.status = :status, i.versao = i.versao + 1 WHERE i.id IN :ids")
+    int updateStatusEmLote(@Param("ids") Collection<String> ids, @Param("status") Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Ideia i SET i.avaliacaoIA = :avaliacao, i.versao = i.versao + 1 WHERE i.id = :id")
+    int updateAvaliacaoIA(@Param("id") String id, @Param("avaliacao") String avaliacao);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Ideia i SET i.avaliacaoHumana = :avaliacao, i.versao = i.versao + 1 WHERE i.id = :id")
+    int updateAvaliacaoHumana(@Param("id") String id, @Param("avaliacao") String avaliacao);
+
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade(i.id, i.versao) " +
+            "FROM Ideia i WHERE i.id IN :ids")
+    List<VersaoEntidade> findVersoes(@Param("ids") Collection<String> ids);
+
+    // Linhas do resumo diário, com o dia calculado pelo banco no mesmo fuso do DATE() da carga
+    // inicial. Lida antes das escritas sem disparar o flush, para enxergar os valores anteriores
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo(" +
+            "i.id, CAST(i.dataCriacao AS LocalDate), i.categoria, i.status) FROM Ideia i " +
+            "WHERE i.id IN :ids AND i.dataCriacao IS NOT NULL")
+    List<ChaveResumo> findChavesResumo(@Param("ids") Collection<String> ids);
+
+    // Texto avaliado pela IA como está no banco; lido antes do save, como findChavesResumo
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.TextoAvaliado(" +
+            "i.id, i.avaliacaoIA, i.desafioProblema, i.solucaoDescricao, i.metodologiaExecucao, " +
+            "i.hipotesePrincipal, i.baselineAtual, i.kpisSmart) FROM Ideia i WHERE i.id = :id")
+    Optional<TextoAvaliado> findTextoAvaliado(@Param("id") String id);
+
+    // Resumo do dashboard: uma linha por (status, categoria)
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.TotaisStatusCategoria(" +
+            "i.status, i.categoria, COUNT(i)) FROM Ideia i GROUP BY i.status, i.categoria")
+    List<TotaisStatusCategoria> findTotaisPorStatusECategoria();
 }
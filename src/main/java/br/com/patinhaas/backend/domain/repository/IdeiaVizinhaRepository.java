@@ -0,0 +1,50 @@
+package br.com.patinhaas.backend.domain.repository;
+
+import br.com.patinhaas.backend.domain.model.IdeiaVizinha;
+import br.com.patinhaas.backend.domain.model.IdeiaVizinhaId;
+import br.com.patinhaas.backend.domain.repository.projecao.ResumoVizinhanca;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface IdeiaVizinhaRepository extends JpaRepository<IdeiaVizinha, IdeiaVizinhaId> {
+
+    // Usa o índice (ideia_id, score DESC)
+    @Query("SELECT v FROM IdeiaVizinha v WHERE v.ideiaId = :ideiaId ORDER BY v.score DESC")
+    List<IdeiaVizinha> findMaisSemelhantes(@Param("ideiaId") String ideiaId, Pageable pageable);
+
+    long countByIdeiaId(String ideiaId);
+
+    // Dois DELETEs em vez de um OR, cada um pelo seu índice
+    default void deleteEnvolvendo(String ideiaId) {
+        deleteDaIdeia(ideiaId);
+        deleteComoVizinha(ideiaId);
+    }
+
+    @Modifying
+    @Query("DELETE FROM IdeiaVizinha v WHERE v.vizinhaId = :vizinhaId")
+    void deleteComoVizinha(@Param("vizinhaId") String vizinhaId);
+
+    @Modifying
+    @Query("DELETE FROM IdeiaVizinha v WHERE v.ideiaId = :ideiaId")
+    void deleteDaIdeia(@Param("ideiaId") String ideiaId);
+
+    @Modifying
+    @Query("DELETE FROM IdeiaVizinha v WHERE v.ideiaId = :ideiaId AND v.vizinhaId IN :vizinhaIds")
+    void deletePares(@Param("ideiaId") String ideiaId, @Param("vizinhaIds") Collection<String> vizinhaIds);
+
+    // Usa o índice idx_ideias_vizinhas_vizinha
+    @Query("SELECT DISTINCT v.ideiaId FROM IdeiaVizinha v WHERE v.vizinhaId IN :vizinhaIds")
+    List<String> findIdeiasComVizinhas(@Param("vizinhaIds") Collection<String> vizinhaIds);
+
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.ResumoVizinhanca(" +
+            "v.ideiaId, COUNT(v), MIN(v.score)) FROM IdeiaVizinha v WHERE v.ideiaId IN :ideiaIds GROUP BY v.ideiaId")
+    List<ResumoVizinhanca> findResumos(@Param("ideiaIds") Collection<String> ideiaIds);
+
+    List<IdeiaVizinha> findByIdeiaIdIn(Collection<String> ideiaIds);
+}
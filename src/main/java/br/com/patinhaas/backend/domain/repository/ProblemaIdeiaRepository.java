@@ -0,0 +1,42 @@
+package br.com.patinhaas.backend.domain.repository;
+
+import br.com.patinhaas.backend.domain.model.ProblemaIdeia;
+import br.com.patinhaas.backend.domain.model.ProblemaIdeiaId;
+import br.com.patinhaas.backend.domain.repository.projecao.ResumoMatching;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProblemaIdeiaRepository extends JpaRepository<ProblemaIdeia, ProblemaIdeiaId> {
+
+    // Usa o índice (problema_id, score DESC)
+    @Query("SELECT l FROM ProblemaIdeia l WHERE l.problemaId = :problemaId ORDER BY l.score DESC")
+    List<ProblemaIdeia> findMelhores(@Param("problemaId") String problemaId, Pageable pageable);
+
+    @Query("SELECT DISTINCT l.problemaId FROM ProblemaIdeia l WHERE l.ideiaId IN :ideiaIds")
+    List<String> findProblemaIds(@Param("ideiaIds") Collection<String> ideiaIds);
+
+    @Modifying
+    @Query("DELETE FROM ProblemaIdeia l WHERE l.problemaId IN :problemaIds")
+    void deleteByProblemaIds(@Param("problemaIds") Collection<String> problemaIds);
+
+    @Modifying
+    @Query("DELETE FROM ProblemaIdeia l WHERE l.ideiaId IN :ideiaIds")
+    void deleteByIdeiaIds(@Param("ideiaIds") Collection<String> ideiaIds);
+
+    @Modifying
+    @Query("DELETE FROM ProblemaIdeia l WHERE l.problemaId = :problemaId AND l.ideiaId IN :ideiaIds")
+    void deletePares(@Param("problemaId") String problemaId, @Param("ideiaIds") Collection<String> ideiaIds);
+
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.ResumoMatching(" +
+            "l.problemaId, COUNT(l), MIN(l.score)) FROM ProblemaIdeia l WHERE l.problemaId IN :problemaIds " +
+            "GROUP BY l.problemaId")
+    List<ResumoMatching> findResumos(@Param("problemaIds") Collection<String> problemaIds);
+
+    List<ProblemaIdeia> findByProblemaIdIn(Collection<String> problemaIds);
+}
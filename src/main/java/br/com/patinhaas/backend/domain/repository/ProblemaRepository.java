@@ -3,13 +3,30 @@ package br.com.patinhaas.backend.domain.repository;
 import br.com.patinhaas.backend.domain.model.Problema;
 import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.ProblemaResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.ProblemaTermos;
+import br.com.patinhaas.backend.domain.repository.projecao.TotaisStatusCategoria;
+import br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_FLUSH_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ProblemaRepository extends JpaRepository<Problema, String>, JpaSpecificationExecutor<Problema> {
 
@@ -29,4 +46,75 @@ public interface ProblemaRepository extends JpaRepository<Problema, String>, Jpa
 
     @Query("SELECT p FROM Problema p WHERE p.matchingScore IS NOT NULL ORDER BY p.matchingScore DESC")
     List<Problema> findByMatchingScoreNotNullOrderByMatchingScoreDesc();
+
+    // Listagens: seleciona só as colunas de ProblemaResumo, sem os campos de texto longo
+    String SELECT_RESUMO = "SELECT new br.com.patinhaas.backend.domain.repository.projecao.ProblemaResumo(" +
+            "p.id, p.nome, p.unidade, p.categoria, p.status, p.impactoFinanceiro, p.impactoPessoas, " +
+            "p.matchingScore, p.dataCriacao) FROM Problema p ";
+
+    @Query(SELECT_RESUMO + "WHERE p.status = :status")
+    List<ProblemaResumo> findResumosByStatus(@Param("status") Status status);
+
+    // Paginação keyset por (data_criacao DESC, id DESC); o Pageable só limita a quantidade de linhas
+    @Query(SELECT_RESUMO + "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<ProblemaResumo> findPrimeiraPagina(Pageable pageable);
+
+    @Query(SELECT_RESUMO + "WHERE p.dataCriacao < :dataCriacao " +
+            "OR (p.dataCriacao = :dataCriacao AND p.id < :id) " +
+            "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<ProblemaResumo> findPaginaApos(@Param("dataCriacao") OffsetDateTime dataCriacao, @Param("id") String id, Pageable pageable);
+
+    // Matching: só id, categoria e os textos pontuados contra as ideias
+    String SELECT_TERMOS = "SELECT new br.com.patinhaas.backend.domain.repository.projecao.ProblemaTermos(" +
+            "p.id, p.categoria, p.problemaDescricao, p.processo, p.tipoSolucaoEsperada) FROM Problema p ";
+
+    @Query(SELECT_TERMOS)
+    List<ProblemaTermos> findTodosTermos();
+
+    @Query(SELECT_TERMOS + "WHERE p.id IN :ids")
+    List<ProblemaTermos> findTermos(@Param("ids") Collection<String> ids);
+
+    // Exportação: o MySQL Connector/J só entrega linha a linha com fetch size Integer.MIN_VALUE
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Problema p")
+    Stream<Problema> streamTodos();
+
+    // Atualizações de um único campo, sem carregar a entidade; o retorno é o número de linhas afetadas
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Problema p SET p.status = :status, p.versao = p.versao + 1 WHERE p.id = :id")
+    int updateStatus(@Param("id") String id, @Param("status") Status status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Problema p SET p.matchingScore = :score, p.versao = p.versao + 1 WHERE p.id = :id")
+    int updateMatchingScore(@Param("id") String id, @Param("score") Double score);
+
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade(p.id, p.versao) " +
+            "FROM Problema p WHERE p.id IN :ids")
+    List<VersaoEntidade> findVersoes(@Param("ids") Collection<String> ids);
+
+    // Linhas do resumo diário, com o dia calculado pelo banco no mesmo fuso do DATE() da carga
+    // inicial. Lida antes das escritas sem disparar o flush, para enxergar os valores anteriores
+    @QueryHints(@QueryHint(name = HINT_FLUSH_MODE, value = "COMMIT"))
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo(" +
+            "p.id, CAST(p.dataCriacao AS LocalDate), p.categoria, p.status) FROM Problema p " +
+            "WHERE p.id IN :ids AND p.dataCriacao IS NOT NULL")
+    List<ChaveResumo> findChavesResumo(@Param("ids") Collection<String> ids);
+
+    // Resumo do dashboard: uma linha por (status, categoria)
+    @Query("SELECT new br.com.patinhaas.backend.domain.repository.projecao.TotaisStatusCategoria(" +
+            "p.status, p.categoria, COUNT(p), SUM(p.impactoFinanceiro), SUM(p.impactoPessoas)) " +
+            "FROM Problema p GROUP BY p.status, p.categoria")
+    List<TotaisStatusCategoria> findTotaisPorStatusECategoria();
+
+    // matching_score passa a ser o maior score do problema em problemas_ideias (NULL sem nenhum),
+    // substituindo um score gravado manualmente por updateMatchingScore
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE problemas p SET p.matching_score = " +
+            "(SELECT MAX(l.score) FROM problemas_ideias l WHERE l.problema_id = p.id), p.versao = p.versao + 1 " +
+            "WHERE p.id IN (:ids)", nativeQuery = true)
+    int updateMatchingScoresPeloMatching(@Param("ids") Collection<String> ids);
 }
@@ -0,0 +1,32 @@
+package br.com.patinhaas.backend.domain.repository;
+
+import br.com.patinhaas.backend.domain.model.ResumoDiario;
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, Long> {
+
+    // Usa o prefixo (tipo, dia) da chave única
+    @Query("SELECT r FROM ResumoDiario r WHERE r.tipo = :tipo AND r.dia BETWEEN :inicio AND :fim " +
+            "ORDER BY r.dia, r.categoria, r.status")
+    List<ResumoDiario> findPeriodo(@Param("tipo") TipoRegistro tipo,
+                                   @Param("inicio") LocalDate inicio,
+                                   @Param("fim") LocalDate fim);
+
+    // Trava só a linha da chave (tipo, dia, categoria, status), criando-a na primeira contagem
+    @Modifying
+    @Query(value = "INSERT INTO resumo_diario (dia, tipo, categoria, status, total) " +
+            "VALUES (:dia, :tipo, :categoria, :status, :delta) " +
+            "ON DUPLICATE KEY UPDATE total = total + :delta", nativeQuery = true)
+    void somar(@Param("tipo") String tipo,
+               @Param("dia") LocalDate dia,
+               @Param("categoria") String categoria,
+               @Param("status") String status,
+               @Param("delta") int delta);
+}
@@ -0,0 +1,12 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+
+import java.time.LocalDate;
+
+/**
+ * Linha de resumo_diario em que um registro é contado: dia de criação, categoria e status.
+ */
+public record ChaveResumo(String id, LocalDate dia, CategoriaEnum categoria, Status status) {
+}
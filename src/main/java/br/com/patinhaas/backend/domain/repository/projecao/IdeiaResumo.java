@@ -0,0 +1,20 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Colunas de uma ideia exibidas nas listagens. Não inclui os campos de texto longo
+ * (descrições, avaliações, KPIs) nem os termos de similaridade.
+ */
+public record IdeiaResumo(String id,
+                          String nomeProponente,
+                          String unidadeProponente,
+                          String nomeExperimento,
+                          String horizonteInovacao,
+                          CategoriaEnum categoria,
+                          Status status,
+                          OffsetDateTime dataCriacao) {
+}
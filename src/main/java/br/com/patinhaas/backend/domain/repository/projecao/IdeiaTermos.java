@@ -0,0 +1,31 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+
+/**
+ * Colunas de uma ideia usadas pela pontuação de similaridade: id, categoria e os termos
+ * pré-tokenizados. Os recálculos em background percorrem o acervo inteiro com ela, sem ler
+ * os campos de texto longo.
+ */
+public record IdeiaTermos(String id,
+                          CategoriaEnum categoria,
+                          String termosDesafioProblema,
+                          String termosSolucaoDescricao,
+                          String termosNomeExperimento,
+                          String termosMetodologiaExecucao) {
+
+    /**
+     * Ideia transitória preenchida só com estas colunas, para a {@code CalculadoraSimilaridade}.
+     */
+    public Ideia toIdeia() {
+        Ideia ideia = new Ideia();
+        ideia.setId(id);
+        ideia.setCategoria(categoria);
+        ideia.setTermosDesafioProblema(termosDesafioProblema);
+        ideia.setTermosSolucaoDescricao(termosSolucaoDescricao);
+        ideia.setTermosNomeExperimento(termosNomeExperimento);
+        ideia.setTermosMetodologiaExecucao(termosMetodologiaExecucao);
+        return ideia;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Colunas de um problema exibidas nas listagens. Não inclui a descrição, o processo nem o
+ * tipo de solução esperada.
+ */
+public record ProblemaResumo(String id,
+                             String nome,
+                             String unidade,
+                             CategoriaEnum categoria,
+                             Status status,
+                             BigDecimal impactoFinanceiro,
+                             Integer impactoPessoas,
+                             Double matchingScore,
+                             OffsetDateTime dataCriacao) {
+}
@@ -0,0 +1,14 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+
+/**
+ * Colunas de um problema usadas pelo matching: id, categoria e os textos pontuados contra as
+ * ideias. Os recálculos percorrem todos os problemas com ela, sem carregar as entidades.
+ */
+public record ProblemaTermos(String id,
+                             CategoriaEnum categoria,
+                             String problemaDescricao,
+                             String processo,
+                             String tipoSolucaoEsperada) {
+}
@@ -0,0 +1,8 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+/**
+ * Quantidade de ideias vinculadas a um problema e o menor score entre elas, para decidir sem
+ * carregar os vínculos se uma nova ideia entra.
+ */
+public record ResumoMatching(String problemaId, Long quantidade, Double menorScore) {
+}
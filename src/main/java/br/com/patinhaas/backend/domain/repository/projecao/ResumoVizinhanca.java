@@ -0,0 +1,8 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+/**
+ * Tamanho da lista de vizinhas de uma ideia e o menor score nela, para decidir sem carregar
+ * a lista se uma nova vizinha entra.
+ */
+public record ResumoVizinhanca(String ideiaId, Long quantidade, Double menorScore) {
+}
@@ -0,0 +1,31 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+
+import java.util.Objects;
+
+/**
+ * Campos de uma ideia lidos pelo {@code AvaliadorIA}, junto com a avaliação gravada. Comparados
+ * antes de uma escrita para decidir se a ideia precisa ser avaliada de novo.
+ */
+public record TextoAvaliado(String id,
+                            String avaliacaoIA,
+                            String desafioProblema,
+                            String solucaoDescricao,
+                            String metodologiaExecucao,
+                            String hipotesePrincipal,
+                            String baselineAtual,
+                            String kpisSmart) {
+
+    /**
+     * @return verdadeiro se algum campo avaliado difere do da ideia informada
+     */
+    public boolean textoAlterado(Ideia ideia) {
+        return !Objects.equals(desafioProblema, ideia.getDesafioProblema())
+                || !Objects.equals(solucaoDescricao, ideia.getSolucaoDescricao())
+                || !Objects.equals(metodologiaExecucao, ideia.getMetodologiaExecucao())
+                || !Objects.equals(hipotesePrincipal, ideia.getHipotesePrincipal())
+                || !Objects.equals(baselineAtual, ideia.getBaselineAtual())
+                || !Objects.equals(kpisSmart, ideia.getKpisSmart());
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+
+import java.math.BigDecimal;
+
+/**
+ * Uma linha do GROUP BY (status, categoria) usado pelo resumo do dashboard. As somas de
+ * impacto só existem para problemas.
+ */
+public record TotaisStatusCategoria(Status status,
+                                    CategoriaEnum categoria,
+                                    Long total,
+                                    BigDecimal impactoFinanceiro,
+                                    Long impactoPessoas) {
+
+    public TotaisStatusCategoria(Status status, CategoriaEnum categoria, Long total) {
+        this(status, categoria, total, null, null);
+    }
+}
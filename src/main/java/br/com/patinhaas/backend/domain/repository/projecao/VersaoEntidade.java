@@ -0,0 +1,8 @@
+package br.com.patinhaas.backend.domain.repository.projecao;
+
+/**
+ * Versão (@Version) corrente de uma entidade, lida depois de um UPDATE em massa para
+ * invalidar o cache de respostas.
+ */
+public record VersaoEntidade(String id, Long versao) {
+}
@@ -0,0 +1,38 @@
+package br.com.patinhaas.backend.domain.repository.spec;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Predicados combináveis para consultas de {@link Ideia}. Filtros nulos ou vazios
+ * retornam {@code null}, que o Spring Data ignora ao combinar.
+ */
+public final class IdeiaSpecs {
+
+    private IdeiaSpecs() {
+    }
+
+    public static Specification<Ideia> comFiltros(String nomeExperimento, Status status, CategoriaEnum categoria) {
+        return Specification.where(nomeExperimentoContem(nomeExperimento))
+                .and(comStatus(status))
+                .and(comCategoria(categoria));
+    }
+
+    public static Specification<Ideia> nomeExperimentoContem(String nomeExperimento) {
+        if (nomeExperimento == null || nomeExperimento.trim().isEmpty()) {
+            return null;
+        }
+        String padrao = "%" + nomeExperimento.trim().toLowerCase() + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("nomeExperimento")), padrao);
+    }
+
+    public static Specification<Ideia> comStatus(Status status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Ideia> comCategoria(CategoriaEnum categoria) {
+        return categoria == null ? null : (root, query, cb) -> cb.equal(root.get("categoria"), categoria);
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.patinhaas.backend.domain.repository.spec;
+
+import br.com.patinhaas.backend.domain.model.Problema;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Predicados combináveis para consultas de {@link Problema}. Filtros nulos ou vazios
+ * retornam {@code null}, que o Spring Data ignora ao combinar.
+ */
+public final class ProblemaSpecs {
+
+    private ProblemaSpecs() {
+    }
+
+    public static Specification<Problema> comFiltros(Status status, CategoriaEnum categoria, String unidade,
+                                                     BigDecimal impactoFinanceiroMin, BigDecimal impactoFinanceiroMax,
+                                                     Integer impactoPessoasMin, Integer impactoPessoasMax) {
+        return Specification.where(comStatus(status))
+                .and(comCategoria(categoria))
+                .and(comUnidade(unidade))
+                .and(impactoFinanceiroEntre(impactoFinanceiroMin, impactoFinanceiroMax))
+                .and(impactoPessoasEntre(impactoPessoasMin, impactoPessoasMax));
+    }
+
+    public static Specification<Problema> comStatus(Status status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Problema> comCategoria(CategoriaEnum categoria) {
+        return categoria == null ? null : (root, query, cb) -> cb.equal(root.get("categoria"), categoria);
+    }
+
+    public static Specification<Problema> comUnidade(String unidade) {
+        if (unidade == null || unidade.trim().isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("unidade"), unidade.trim());
+    }
+
+    public static Specification<Problema> impactoFinanceiroEntre(BigDecimal minimo, BigDecimal maximo) {
+        return Specification.where(minimo == null ? null : (Specification<Problema>) (root, query, cb) ->
+                        cb.greaterThanOrEqualTo(root.get("impactoFinanceiro"), minimo))
+                .and(maximo == null ? null : (root, query, cb) ->
+                        cb.lessThanOrEqualTo(root.get("impactoFinanceiro"), maximo));
+    }
+
+    public static Specification<Problema> impactoPessoasEntre(Integer minimo, Integer maximo) {
+        return Specification.where(minimo == null ? null : (Specification<Problema>) (root, query, cb) ->
+                        cb.greaterThanOrEqualTo(root.get("impactoPessoas"), minimo))
+                .and(maximo == null ? null : (root, query, cb) ->
+                        cb.lessThanOrEqualTo(root.get("impactoPessoas"), maximo));
+    }
+}
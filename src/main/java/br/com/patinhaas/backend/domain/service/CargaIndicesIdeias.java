@@ -0,0 +1,102 @@
+package br.com.patinhaas.backend.domain.service;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaTermos;
+import br.com.patinhaas.backend.domain.service.similaridade.CampoTexto;
+import br.com.patinhaas.backend.domain.service.similaridade.IndiceInvertidoIdeias;
+import br.com.patinhaas.backend.domain.service.similaridade.IndiceLshIdeias;
+import br.com.patinhaas.backend.domain.service.similaridade.ModoRecuperacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Monta os índices de similaridade em memória (BM25F e LSH) antes de o servidor web aceitar
+ * requisições. As escritas em ideias atualizam os índices incrementalmente, então uma escrita
+ * concorrente com a carga poderia ser sobrescrita pela reconstrução; como fase do ciclo de vida
+ * do contexto, a carga termina antes de o conector do Tomcat abrir.
+ * <p>
+ * O acervo é lido em blocos de {@link IdeiaTermos}, só id, categoria e termos, sem os campos
+ * de texto longo nem entidades gerenciadas.
+ */
+@Component
+public class CargaIndicesIdeias implements SmartLifecycle {
+
+    // Antes do WebServerStartStopLifecycle (DEFAULT_PHASE - 2048), que inicia o conector
+    private static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    @Autowired
+    private IndiceInvertidoIdeias indiceInvertido;
+
+    @Autowired
+    private IndiceLshIdeias indiceLsh;
+
+    @Value("${patinhas.similaridade.recuperacao:INDICE}")
+    private ModoRecuperacao modoRecuperacao;
+
+    // Ideias lidas por consulta durante a carga
+    @Value("${patinhas.similaridade.carga.tamanho-bloco:2000}")
+    private int tamanhoBloco;
+
+    private volatile boolean carregado;
+
+    @Override
+    public void start() {
+        carregar();
+        carregado = true;
+    }
+
+    @Override
+    public void stop() {
+        carregado = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return carregado;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    private void carregar() {
+        // Somente linhas gravadas antes da coluna de termos existir precisam ser tokenizadas
+        List<Ideia> semTermos = ideiaRepository.findSemTermos();
+        if (!semTermos.isEmpty()) {
+            semTermos.forEach(CampoTexto::tokenizarCampos);
+            ideiaRepository.saveAll(semTermos);
+        }
+
+        boolean indiceInvertidoAtivo = modoRecuperacao == ModoRecuperacao.INDICE;
+        if (indiceInvertidoAtivo) {
+            indiceInvertido.reconstruir(List.of());
+        }
+        indiceLsh.reconstruir(List.of());
+
+        PageRequest bloco = PageRequest.of(0, tamanhoBloco);
+        String ultimoId = "";
+        List<IdeiaTermos> termos;
+        do {
+            termos = ideiaRepository.findTermosApos(ultimoId, bloco);
+            if (termos.isEmpty()) {
+                break;
+            }
+            List<Ideia> ideias = termos.stream().map(IdeiaTermos::toIdeia).toList();
+            if (indiceInvertidoAtivo) {
+                indiceInvertido.indexarTodas(ideias);
+            }
+            indiceLsh.indexarTodas(ideias);
+            ultimoId = termos.get(termos.size() - 1).id();
+        } while (termos.size() == tamanhoBloco);
+    }
+}
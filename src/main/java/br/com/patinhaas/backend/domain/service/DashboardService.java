@@ -0,0 +1,155 @@
+package br.com.patinhaas.backend.domain.service;
+
+import br.com.patinhaas.backend.api.v2.dto.dashboard.DashboardResumoResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.dashboard.DashboardResumoResponseDTO.TotaisDTO;
+import br.com.patinhaas.backend.api.v2.dto.dashboard.TendenciaResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.dashboard.TendenciaResponseDTO.PontoDiarioDTO;
+import br.com.patinhaas.backend.domain.exception.PeriodoInvalidoException;
+import br.com.patinhaas.backend.domain.model.ResumoDiario;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.ProblemaRepository;
+import br.com.patinhaas.backend.domain.repository.ResumoDiarioRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.TotaisStatusCategoria;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumo do dashboard (contagens por status e categoria e impactos somados), calculado por
+ * GROUP BY e mantido em memória. IdeiaService e ProblemaService descartam o resumo após o
+ * commit de cada escrita; o próximo acesso recalcula.
+ */
+@Service
+public class DashboardService {
+
+    // Um ano, inclusive em anos bissextos
+    public static final int DIAS_MAXIMO_TENDENCIA = 366;
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    @Autowired
+    private ProblemaRepository problemaRepository;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    // ReentrantLock em vez de synchronized para não prender a thread carregadora de threads virtuais
+    private final ReentrantLock trava = new ReentrantLock();
+
+    private DashboardResumoResponseDTO resumo;
+
+    // Incrementada a cada invalidação, para descartar cálculos iniciados antes dela
+    private long geracao;
+
+    public DashboardResumoResponseDTO findResumo() {
+        long geracaoCalculo;
+        trava.lock();
+        try {
+            if (resumo != null) {
+                return resumo;
+            }
+            geracaoCalculo = geracao;
+        } finally {
+            trava.unlock();
+        }
+
+        DashboardResumoResponseDTO calculado = new DashboardResumoResponseDTO(
+                totalizar(ideiaRepository.findTotaisPorStatusECategoria(), false),
+                totalizar(problemaRepository.findTotaisPorStatusECategoria(), true),
+                OffsetDateTime.now());
+        trava.lock();
+        try {
+            // Uma escrita concluída durante as consultas torna o resultado possivelmente desatualizado
+            if (geracaoCalculo == geracao) {
+                resumo = calculado;
+            }
+        } finally {
+            trava.unlock();
+        }
+        return calculado;
+    }
+
+    /**
+     * Ideias e problemas criados por dia, categoria e status, lidos da tabela resumo_diario:
+     * o custo depende só do tamanho do período, não do acervo.
+     * @param inicio primeiro dia (inclusive); nulo para um ano antes de {@code fim}
+     * @param fim último dia (inclusive); nulo para hoje
+     */
+    public TendenciaResponseDTO findTendencia(LocalDate inicio, LocalDate fim) {
+        LocalDate ate = fim != null ? fim : LocalDate.now();
+        LocalDate de = inicio != null ? inicio : ate.minusYears(1).plusDays(1);
+        if (de.isAfter(ate)) {
+            throw new PeriodoInvalidoException("O início do período deve ser anterior ao fim");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= DIAS_MAXIMO_TENDENCIA) {
+            throw new PeriodoInvalidoException("O período deve ter no máximo " + DIAS_MAXIMO_TENDENCIA + " dias");
+        }
+        return new TendenciaResponseDTO(de, ate,
+                pontos(resumoDiarioRepository.findPeriodo(TipoRegistro.IDEIA, de, ate)),
+                pontos(resumoDiarioRepository.findPeriodo(TipoRegistro.PROBLEMA, de, ate)));
+    }
+
+    public void invalidar() {
+        trava.lock();
+        try {
+            geracao++;
+            resumo = null;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private TotaisDTO totalizar(List<TotaisStatusCategoria> linhas, boolean comImpacto) {
+        Map<Status, Long> porStatus = zerado(Status.class);
+        Map<CategoriaEnum, Long> porCategoria = zerado(CategoriaEnum.class);
+        long total = 0;
+        BigDecimal impactoFinanceiro = BigDecimal.ZERO;
+        long impactoPessoas = 0;
+
+        for (TotaisStatusCategoria linha : linhas) {
+            total += linha.total();
+            // Registros antigos podem não ter status ou categoria: entram só no total
+            if (linha.status() != null) {
+                porStatus.merge(linha.status(), linha.total(), Long::sum);
+            }
+            if (linha.categoria() != null) {
+                porCategoria.merge(linha.categoria(), linha.total(), Long::sum);
+            }
+            if (linha.impactoFinanceiro() != null) {
+                impactoFinanceiro = impactoFinanceiro.add(linha.impactoFinanceiro());
+            }
+            if (linha.impactoPessoas() != null) {
+                impactoPessoas += linha.impactoPessoas();
+            }
+        }
+        return comImpacto
+                ? new TotaisDTO(total, porStatus, porCategoria, impactoFinanceiro, impactoPessoas)
+                : new TotaisDTO(total, porStatus, porCategoria, null, null);
+    }
+
+    private List<PontoDiarioDTO> pontos(List<ResumoDiario> linhas) {
+        return linhas.stream()
+                .map(linha -> new PontoDiarioDTO(linha.getDia(), linha.getCategoria(), linha.getStatus(), linha.getTotal()))
+                .toList();
+    }
+
+    private <E extends Enum<E>> Map<E, Long> zerado(Class<E> tipo) {
+        Map<E, Long> mapa = new EnumMap<>(tipo);
+        for (E valor : tipo.getEnumConstants()) {
+            mapa.put(valor, 0L);
+        }
+        return mapa;
+    }
+}
@@ -1,28 +1,147 @@
 package br.com.patinhaas.backend.domain.service;
 
 import br.com.patinhaas.backend.api.v2.converter.IdeiaAssemblerV2;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiaResponseDTO;
 import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiasSemelhantesResponseDTO;
 import br.com.patinhaas.backend.domain.exception.IdeiaNotFoundException;
+import br.com.patinhaas.backend.domain.exception.LoteInvalidoException;
+import br.com.patinhaas.backend.domain.exception.PaginacaoInvalidaException;
 import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.IdeiaVizinha;
 import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
 import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade;
+import br.com.patinhaas.backend.domain.repository.spec.IdeiaSpecs;
+import br.com.patinhaas.backend.domain.service.avaliacao.FilaAvaliacaoIA;
+import br.com.patinhaas.backend.domain.service.paginacao.CursorKeyset;
+import br.com.patinhaas.backend.domain.service.paginacao.PaginaKeyset;
+import br.com.patinhaas.backend.domain.service.similaridade.AvaliacaoSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.CalculadoraSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.CampoTexto;
+import br.com.patinhaas.backend.domain.service.similaridade.IndiceInvertidoIdeias;
+import br.com.patinhaas.backend.domain.service.similaridade.IndiceLshIdeias;
+import br.com.patinhaas.backend.domain.service.similaridade.ModoRecuperacao;
+import br.com.patinhaas.backend.domain.service.similaridade.PrazoBusca;
+import br.com.patinhaas.backend.domain.service.similaridade.SelecaoTopK;
+import br.com.patinhaas.backend.domain.service.similaridade.TermosIdeia;
+import br.com.patinhaas.backend.domain.service.similaridade.Tokenizador;
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import br.com.patinhaas.backend.infra.metricas.MetricasAplicacao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class IdeiaService {
 
+    public static final int LIMITE_MAXIMO_SEMELHANTES = 100;
+
+    // Ids por chamada de updateStatusEmLote, para manter o IN do UPDATE limitado
+    public static final int MAXIMO_IDS_ATUALIZACAO = 1000;
+
+    // Offsets maiores exigiriam uma seleção (e um LIMIT) do tamanho do offset
+    public static final int OFFSET_MAXIMO_SEMELHANTES = 10_000;
+
     @Autowired
     private IdeiaRepository ideiaRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CalculadoraSimilaridade calculadora;
+
+    @Autowired
+    private IndiceInvertidoIdeias indiceInvertido;
+
+    @Autowired
+    private IndiceLshIdeias indiceLsh;
+
+    @Autowired
+    private IdeiaVizinhancaService vizinhancaService;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private FilaAvaliacaoIA filaAvaliacao;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
+    @Autowired
+    @Qualifier("cacheIdeiasJson")
+    private CacheRespostaJson cacheJson;
+
+    @Autowired
+    private MetricasAplicacao metricas;
+
+    // Quantidade de candidatos recuperados do índice invertido antes do re-ranking por Jaccard
+    @Value("${patinhas.similaridade.max-candidatos:200}")
+    private int maxCandidatos;
+
+    // Candidatos lidos e pontuados por vez na busca por texto; o prazo é verificado entre os blocos.
+    // O padrão igual a patinhas.similaridade.paralelo.minimo mantém a pontuação paralela em cada bloco
+    @Value("${patinhas.similaridade.tamanho-bloco:2000}")
+    private int tamanhoBloco;
+
+    // Ideias ABERTO já convertidas, por categoria; descartado a cada escrita em ideias
+    private final Map<CategoriaEnum, List<IdeiaResponseDTO>> abertasPorCategoria = new EnumMap<>(CategoriaEnum.class);
+
+    // Incrementada a cada invalidação, para descartar cargas iniciadas antes dela
+    private long geracaoAbertas;
+
+    // Guarda abertasPorCategoria e geracaoAbertas
+    private final ReentrantLock travaAbertas = new ReentrantLock();
+
+    // INDICE mantém o índice BM25F em memória; FULLTEXT delega a recuperação ao MySQL
+    @Value("${patinhas.similaridade.recuperacao:INDICE}")
+    private ModoRecuperacao modoRecuperacao;
+
+    // Os índices em memória já foram montados por CargaIndicesIdeias antes de o servidor abrir
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarRelacoes() {
+        if (vizinhancaService.isVazia() && ideiaRepository.count() > 0) {
+            vizinhancaService.recalcularTudo();
+        }
+        if (matchingService.precisaCargaInicial()) {
+            matchingService.recalcularTudo();
+        }
+    }
+
     public Ideia findById(String id) {
         return ideiaRepository.findById(id)
                 .orElseThrow(() -> new IdeiaNotFoundException(id));
@@ -32,252 +151,385 @@ public class IdeiaService {
         return ideiaRepository.findAll();
     }
 
+    /**
+     * Página keyset ordenada da mais recente para a mais antiga. O custo não cresce com a
+     * profundidade da página, ao contrário de OFFSET.
+     * @param cursor token devolvido pela página anterior, ou nulo para a primeira página
+     * @param tamanho quantidade de itens (limitado a {@value PaginaKeyset#TAMANHO_MAXIMO})
+     */
+    public PaginaKeyset<IdeiaResumo> findPagina(String cursor, int tamanho) {
+        int limite = PaginaKeyset.normalizarTamanho(tamanho);
+        // Uma linha a mais indica se existe próxima página
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        List<IdeiaResumo> linhas;
+        if (cursor == null || cursor.isBlank()) {
+            linhas = ideiaRepository.findPrimeiraPagina(pageable);
+        } else {
+            CursorKeyset posicao = CursorKeyset.decodificar(cursor);
+            linhas = ideiaRepository.findPaginaApos(posicao.dataCriacao(), posicao.id(), pageable);
+        }
+        return PaginaKeyset.of(linhas, limite, IdeiaResumo::dataCriacao, IdeiaResumo::id);
+    }
+
+    /**
+     * Percorre todas as ideias sem carregá-las de uma vez: as linhas chegam por um cursor do
+     * banco e cada entidade é desanexada do contexto de persistência depois de consumida,
+     * então a memória não cresce com o tamanho da tabela.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(Consumer<Ideia> consumidor) {
+        try (Stream<Ideia> ideias = ideiaRepository.streamTodos()) {
+            ideias.forEach(ideia -> {
+                consumidor.accept(ideia);
+                entityManager.detach(ideia);
+            });
+        }
+    }
+
     public List<Ideia> findByStatus(Status status) {
         return ideiaRepository.findByStatus(status);
     }
 
-    public List<Ideia> findByStatusAndCategoria(Status status, CategoriaEnum categoria) {
-        return ideiaRepository.findByStatusAndCategoria(status, categoria);
+    public List<IdeiaResumo> findResumosByStatus(Status status) {
+        return ideiaRepository.findResumosByStatus(status);
     }
 
-    public List<Ideia> findSimilarIdeias(String ideiaId) {
-        Ideia ideiaBase = findById(ideiaId);
-        List<Ideia> todasIdeias = findAll();
-
-        return todasIdeias.stream()
-                .filter(ideia -> !ideia.getId().equals(ideiaId)) // Exclui a própria ideia
-                .map(ideia -> new IdeiaComScore(ideia, calculateSimilarity(ideiaBase, ideia)))
-                .filter(ideiaScore -> ideiaScore.getScore() > 0.3) // Threshold de similaridade
-                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore())) // Ordena por score (maior primeiro)
-                .map(IdeiaComScore::getIdeia)
-                .collect(Collectors.toList());
+    public List<Ideia> findByStatusAndCategoria(Status status, CategoriaEnum categoria) {
+        return ideiaRepository.findByStatusAndCategoria(status, categoria);
     }
 
-    public List<Ideia> findSimilarIdeiasFromText(String textoDescricao) {
-        if (textoDescricao == null || textoDescricao.trim().isEmpty()) {
+    /**
+     * Ideias com status ABERTO da categoria, já convertidas, servidas de um cache por categoria.
+     * O cache é esvaziado depois do commit de qualquer criação, alteração ou exclusão de ideia.
+     */
+    public List<IdeiaResponseDTO> findAbertasPorCategoria(CategoriaEnum categoria, IdeiaAssemblerV2 assembler) {
+        if (categoria == null) {
             return new ArrayList<>();
         }
 
-        List<Ideia> todasIdeias = findAll();
-
-        return todasIdeias.stream()
-                .map(ideia -> new IdeiaComScore(ideia, calculateSimilarityWithText(textoDescricao, ideia)))
-                .filter(ideiaScore -> ideiaScore.getScore() > 0.2) // Threshold menor para busca por texto
-                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
-                .map(IdeiaComScore::getIdeia)
-                .collect(Collectors.toList());
-    }
-
-    private double calculateSimilarity(Ideia ideia1, Ideia ideia2) {
-        double score = 0.0;
-        int criterios = 0;
-
-        // Comparação por categoria (peso maior)
-        if (ideia1.getCategoria() != null && ideia2.getCategoria() != null) {
-            if (ideia1.getCategoria().equals(ideia2.getCategoria())) {
-                score += 0.4; // Aumentei o peso da categoria
+        long geracao;
+        travaAbertas.lock();
+        try {
+            List<IdeiaResponseDTO> emCache = abertasPorCategoria.get(categoria);
+            if (emCache != null) {
+                return emCache;
             }
-            criterios++;
-        }
-
-        // Comparação textual do desafio/problema
-        if (ideia1.getDesafioProblema() != null && ideia2.getDesafioProblema() != null) {
-            double textSimilarity = calculateTextSimilarity(
-                    ideia1.getDesafioProblema(),
-                    ideia2.getDesafioProblema()
-            );
-            score += textSimilarity * 0.25;
-            criterios++;
+            geracao = geracaoAbertas;
+        } finally {
+            travaAbertas.unlock();
         }
 
-        // Comparação da solução
-        if (ideia1.getSolucaoDescricao() != null && ideia2.getSolucaoDescricao() != null) {
-            double textSimilarity = calculateTextSimilarity(
-                    ideia1.getSolucaoDescricao(),
-                    ideia2.getSolucaoDescricao()
-            );
-            score += textSimilarity * 0.25;
-            criterios++;
-        }
-
-        // Comparação do nome do experimento
-        if (ideia1.getNomeExperimento() != null && ideia2.getNomeExperimento() != null) {
-            double textSimilarity = calculateTextSimilarity(
-                    ideia1.getNomeExperimento(),
-                    ideia2.getNomeExperimento()
-            );
-            score += textSimilarity * 0.1;
-            criterios++;
+        List<IdeiaResponseDTO> abertas = List.copyOf(assembler.toListDTO(findByStatusAndCategoria(Status.ABERTO, categoria)));
+        travaAbertas.lock();
+        try {
+            // Uma escrita concluída durante a consulta torna o resultado possivelmente desatualizado
+            if (geracao == geracaoAbertas) {
+                abertasPorCategoria.put(categoria, abertas);
+            }
+        } finally {
+            travaAbertas.unlock();
         }
+        return abertas;
+    }
 
-        return criterios > 0 ? score : 0.0;
+    /**
+     * Busca, pelo índice MinHash/LSH, ideias que provavelmente são reenvios da mesma proposta.
+     * @param ideia ideia já tokenizada (salva)
+     * @return possíveis duplicatas com a similaridade de Jaccard estimada
+     */
+    public List<IndiceLshIdeias.Candidato> findPossiveisDuplicatas(Ideia ideia) {
+        return metricas.medirSimilaridade("findPossiveisDuplicatas", () -> indiceLsh.buscar(ideia), List::size);
     }
 
-    private double calculateSimilarityWithText(String texto, Ideia ideia) {
-        double score = 0.0;
-        int comparacoes = 0;
+    /**
+     * No modo {@link ModoRecuperacao#FULLTEXT} só as ideias com termos em comum recuperadas pelo
+     * MySQL são avaliadas; ideias que coincidem apenas na categoria deixam de aparecer.
+     */
+    public List<Ideia> findSimilarIdeias(String ideiaId) {
+        return metricas.medirSimilaridade("findSimilarIdeias", () -> buscarSimilares(ideiaId), List::size);
+    }
 
-        if (ideia.getDesafioProblema() != null && !ideia.getDesafioProblema().trim().isEmpty()) {
-            score += calculateTextSimilarity(texto, ideia.getDesafioProblema()) * 0.4;
-            comparacoes++;
+    private List<Ideia> buscarSimilares(String ideiaId) {
+        TermosIdeia ideiaBase = TermosIdeia.de(findById(ideiaId));
+        List<Ideia> candidatos;
+        if (usaIndiceEmMemoria()) {
+            candidatos = findAll();
+        } else {
+            Set<String> termosBase = new LinkedHashSet<>();
+            termosBase.addAll(ideiaBase.get(CampoTexto.DESAFIO_PROBLEMA));
+            termosBase.addAll(ideiaBase.get(CampoTexto.SOLUCAO_DESCRICAO));
+            termosBase.addAll(ideiaBase.get(CampoTexto.NOME_EXPERIMENTO));
+            candidatos = findCandidatosPorTexto(termosBase, maxCandidatos);
         }
+        metricas.registrarCandidatos("findSimilarIdeias", candidatos.size());
 
-        if (ideia.getSolucaoDescricao() != null && !ideia.getSolucaoDescricao().trim().isEmpty()) {
-            score += calculateTextSimilarity(texto, ideia.getSolucaoDescricao()) * 0.3;
-            comparacoes++;
-        }
+        // A própria ideia e as abaixo do threshold de similaridade já ficam de fora
+        return calculadora.avaliarContra(ideiaBase, calculadora.termos(candidatos)).stream()
+                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore())) // Ordena por score (maior primeiro)
+                .map(AvaliacaoSimilaridade::getIdeia)
+                .collect(Collectors.toList());
+    }
 
-        if (ideia.getNomeExperimento() != null && !ideia.getNomeExperimento().trim().isEmpty()) {
-            score += calculateTextSimilarity(texto, ideia.getNomeExperimento()) * 0.2;
-            comparacoes++;
-        }
+    public List<Ideia> findSimilarIdeiasFromText(String textoDescricao) {
+        return metricas.medirSimilaridade("findSimilarIdeiasFromText", () -> buscarSimilaresPorTexto(textoDescricao), List::size);
+    }
 
-        if (ideia.getMetodologiaExecucao() != null && !ideia.getMetodologiaExecucao().trim().isEmpty()) {
-            score += calculateTextSimilarity(texto, ideia.getMetodologiaExecucao()) * 0.1;
-            comparacoes++;
+    private List<Ideia> buscarSimilaresPorTexto(String textoDescricao) {
+        if (textoDescricao == null || textoDescricao.trim().isEmpty()) {
+            return new ArrayList<>();
         }
 
-        return comparacoes > 0 ? score : 0.0;
+        Set<String> termosTexto = Tokenizador.conjunto(textoDescricao);
+        List<Ideia> candidatos = findCandidatosPorTexto(termosTexto, maxCandidatos);
+        metricas.registrarCandidatos("findSimilarIdeiasFromText", candidatos.size());
+
+        return calculadora.avaliarTexto(termosTexto, calculadora.termos(candidatos)).stream()
+                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
+                .map(AvaliacaoSimilaridade::getIdeia)
+                .collect(Collectors.toList());
     }
 
-    private double calculateTextSimilarity(String text1, String text2) {
-        if (text1 == null || text2 == null || text1.trim().isEmpty() || text2.trim().isEmpty()) {
-            return 0.0;
+    /**
+     * Recupera pelo índice invertido (BM25F) ou pelo FULLTEXT do MySQL, conforme
+     * {@code patinhas.similaridade.recuperacao}, as ideias que compartilham termos com o texto.
+     * Ideias sem nenhum termo em comum teriam similaridade zero, então ficam de fora sem serem lidas.
+     * @param termosTexto termos normalizados do texto da busca
+     * @param quantidade número máximo de candidatos
+     * @return até {@code quantidade} ideias, sem ordem definida
+     */
+    private List<Ideia> findCandidatosPorTexto(Set<String> termosTexto, int quantidade) {
+        if (termosTexto.isEmpty()) {
+            return new ArrayList<>();
         }
-
-        String[] words1 = text1.toLowerCase()
-                .replaceAll("[^a-záàâãéèêíïóôõöúçñ\\s]", "") // Remove pontuação mantendo acentos
-                .split("\\s+");
-        String[] words2 = text2.toLowerCase()
-                .replaceAll("[^a-záàâãéèêíïóôõöúçñ\\s]", "")
-                .split("\\s+");
-
-        Set<String> set1 = new HashSet<>();
-        Set<String> set2 = new HashSet<>();
-
-        // Stop words em português
-        Set<String> stopWords = Set.of(
-                "a", "o", "e", "de", "da", "do", "em", "um", "uma", "para", "com", "por",
-                "que", "se", "na", "no", "as", "os", "das", "dos", "nas", "nos", "ao",
-                "à", "pela", "pelo", "pelas", "pelos", "ser", "ter", "ou", "mais", "como",
-                "mas", "não", "sua", "seu", "suas", "seus", "esta", "este", "estas", "estes",
-                "essa", "esse", "essas", "esses", "já", "foi", "são", "tem", "têm", "muito",
-                "pode", "podem", "sobre", "também", "quando", "onde", "sistema", "através"
-        );
-
-        for (String word : words1) {
-            if (word.length() > 2 && !stopWords.contains(word)) {
-                set1.add(word);
-            }
+        if (!usaIndiceEmMemoria()) {
+            return ideiaRepository.findCandidatosFulltext(String.join(" ", termosTexto), quantidade);
         }
 
-        for (String word : words2) {
-            if (word.length() > 2 && !stopWords.contains(word)) {
-                set2.add(word);
-            }
-        }
+        List<String> ids = indiceInvertido.buscar(termosTexto, quantidade).stream()
+                .map(IndiceInvertidoIdeias.Resultado::ideiaId)
+                .collect(Collectors.toList());
 
-        if (set1.isEmpty() || set2.isEmpty()) {
-            return 0.0;
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
+        return ideiaRepository.findAllById(ids);
+    }
 
-        Set<String> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
-
-        Set<String> union = new HashSet<>(set1);
-        union.addAll(set2);
+    // Novos métodos com detalhes para o frontend
 
-        return union.size() > 0 ? (double) intersection.size() / union.size() : 0.0;
+    /**
+     * Ideias semelhantes à informada, paginadas por score, lidas da vizinhança materializada
+     * (uma consulta pelo índice (ideia_id, score)). Ideias recém-gravadas podem levar alguns
+     * instantes para aparecer, enquanto o recálculo roda em background. O ranking guarda só as
+     * {@code patinhas.vizinhanca.max-vizinhas} mais semelhantes; páginas além disso vêm vazias.
+     * @param limit tamanho da página (limitado a {@value #LIMITE_MAXIMO_SEMELHANTES})
+     * @param offset posição inicial dentro do ranking (até {@value #OFFSET_MAXIMO_SEMELHANTES})
+     * @param contarTotal quando falso, {@code totalEncontradas} vem nulo
+     * @param explain quando falso, {@code criteriosMatch} vem nulo
+     */
+    public IdeiasSemelhantesResponseDTO findSimilarIdeiasWithDetails(String ideiaId, IdeiaAssemblerV2 assembler,
+                                                                     int limit, int offset, boolean contarTotal,
+                                                                     boolean explain) {
+        return metricas.medirSimilaridade("findSimilarIdeiasWithDetails",
+                () -> buscarSimilaresComDetalhes(ideiaId, assembler, limit, offset, contarTotal, explain),
+                resposta -> resposta.getIdeiasSemelhantes().size());
     }
 
-    // Novos métodos com detalhes para o frontend
-    public IdeiasSemelhantesResponseDTO findSimilarIdeiasWithDetails(String ideiaId, IdeiaAssemblerV2 assembler) {
+    private IdeiasSemelhantesResponseDTO buscarSimilaresComDetalhes(String ideiaId, IdeiaAssemblerV2 assembler,
+                                                                    int limit, int offset, boolean contarTotal,
+                                                                    boolean explain) {
+        int tamanhoPagina = normalizarLimit(limit);
+        int inicio = normalizarOffset(offset);
+
         Ideia ideiaBase = findById(ideiaId);
-        List<Ideia> todasIdeias = findAll();
-
-        List<IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO> ideiasSemelhantes = todasIdeias.stream()
-                .filter(ideia -> !ideia.getId().equals(ideiaId))
-                .map(ideia -> {
-                    double score = calculateSimilarity(ideiaBase, ideia);
-                    return new IdeiaComScoreDetalhada(ideia, score, getCriteriosMatch(ideiaBase, ideia));
-                })
-                .filter(ideiaScore -> ideiaScore.getScore() > 0.3)
-                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
-                .map(ideiaScore -> new IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO(
-                        assembler.toDTO(ideiaScore.getIdeia()),
-                        ideiaScore.getScore() * 100, // Converte para percentual
-                        getNivelSimilaridade(ideiaScore.getScore()),
-                        ideiaScore.getCriterios()
+        List<IdeiaVizinha> vizinhas = vizinhancaService.findMaisSemelhantes(ideiaId, inicio + tamanhoPagina);
+        metricas.registrarCandidatos("findSimilarIdeiasWithDetails", vizinhas.size());
+        List<IdeiaVizinha> pagina = inicio >= vizinhas.size() ? new ArrayList<>() : vizinhas.subList(inicio, vizinhas.size());
+
+        Map<String, Ideia> ideias = ideiaRepository.findAllById(pagina.stream().map(IdeiaVizinha::getVizinhaId).toList())
+                .stream()
+                .collect(Collectors.toMap(Ideia::getId, Function.identity()));
+
+        List<IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO> ideiasSemelhantes = pagina.stream()
+                .filter(vizinha -> ideias.containsKey(vizinha.getVizinhaId()))
+                .map(vizinha -> new IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO(
+                        assembler.toDTO(ideias.get(vizinha.getVizinhaId())),
+                        vizinha.getScore() * 100, // Converte para percentual
+                        calculadora.getNivelSimilaridade(vizinha.getScore()),
+                        explain ? vizinha.getListaCriterios() : null
                 ))
                 .collect(Collectors.toList());
 
         return new IdeiasSemelhantesResponseDTO(
                 ideiaBase.getId(),
                 ideiaBase.getNomeExperimento(),
-                ideiasSemelhantes.size(),
+                contarTotal ? (int) vizinhancaService.countVizinhas(ideiaId) : null,
                 ideiasSemelhantes
         );
     }
 
-    public IdeiasSemelhantesResponseDTO findSimilarIdeiasFromTextWithDetails(String textoDescricao, IdeiaAssemblerV2 assembler) {
+    /**
+     * Ideias semelhantes a um texto livre, paginadas por score.
+     * <p>
+     * Só os candidatos de maior BM25F são re-ranqueados. No modo {@link ModoRecuperacao#INDICE}
+     * o total é exato e vem de uma contagem à parte sobre as listas de postings, sem pontuar nem
+     * carregar as ideias. No modo {@link ModoRecuperacao#FULLTEXT} o total se refere apenas aos
+     * candidatos avaliados.
+     */
+    public IdeiasSemelhantesResponseDTO findSimilarIdeiasFromTextWithDetails(String textoDescricao, IdeiaAssemblerV2 assembler,
+                                                                             int limit, int offset, boolean contarTotal,
+                                                                             boolean explain) {
+        return findSimilarIdeiasFromTextWithDetails(textoDescricao, assembler, limit, offset, contarTotal, explain,
+                PrazoBusca.SEM_LIMITE);
+    }
+
+    /**
+     * Como {@link #findSimilarIdeiasFromTextWithDetails(String, IdeiaAssemblerV2, int, int, boolean, boolean)},
+     * pontuando os candidatos em blocos de {@code patinhas.similaridade.tamanho-bloco}. Esgotado o
+     * prazo, os blocos restantes são descartados e a resposta vem com {@code parcial=true}. No
+     * modo {@link ModoRecuperacao#INDICE} os blocos seguem a ordem do BM25F, então os candidatos
+     * mais promissores são avaliados primeiro.
+     */
+    public IdeiasSemelhantesResponseDTO findSimilarIdeiasFromTextWithDetails(String textoDescricao, IdeiaAssemblerV2 assembler,
+                                                                             int limit, int offset, boolean contarTotal,
+                                                                             boolean explain, PrazoBusca prazo) {
+        return metricas.medirSimilaridade("findSimilarIdeiasFromTextWithDetails",
+                () -> buscarSimilaresPorTextoComDetalhes(textoDescricao, assembler, limit, offset, contarTotal, explain, prazo),
+                resposta -> resposta.getIdeiasSemelhantes().size());
+    }
+
+    private IdeiasSemelhantesResponseDTO buscarSimilaresPorTextoComDetalhes(String textoDescricao, IdeiaAssemblerV2 assembler,
+                                                                            int limit, int offset, boolean contarTotal,
+                                                                            boolean explain, PrazoBusca prazo) {
         if (textoDescricao == null || textoDescricao.trim().isEmpty()) {
-            return new IdeiasSemelhantesResponseDTO("", "Texto fornecido", 0, new ArrayList<>());
+            return new IdeiasSemelhantesResponseDTO("", "Texto fornecido", contarTotal ? 0 : null, new ArrayList<>());
+        }
+
+        int tamanhoPagina = normalizarLimit(limit);
+        int inicio = normalizarOffset(offset);
+
+        Set<String> termosTexto = Tokenizador.conjunto(textoDescricao);
+        List<Supplier<List<Ideia>>> blocos = findBlocosCandidatosPorTexto(termosTexto,
+                Math.max(maxCandidatos, inicio + tamanhoPagina));
+
+        SelecaoTopK<AvaliacaoSimilaridade> selecao = new SelecaoTopK<>(inicio + tamanhoPagina, AvaliacaoSimilaridade::getScore);
+        int avaliadas = 0;
+        boolean parcial = false;
+        for (int i = 0; i < blocos.size(); i++) {
+            // O primeiro bloco é sempre avaliado, para que a resposta parcial traga algum resultado
+            if (i > 0 && prazo.esgotado()) {
+                parcial = true;
+                break;
+            }
+            List<AvaliacaoSimilaridade> avaliacoes = calculadora.avaliarTexto(termosTexto, calculadora.termos(blocos.get(i).get()));
+            avaliacoes.forEach(selecao::oferecer);
+            avaliadas += avaliacoes.size();
         }
 
-        List<Ideia> todasIdeias = findAll();
+        Integer totalEncontradas = null;
+        if (contarTotal) {
+            totalEncontradas = usaIndiceEmMemoria()
+                    ? indiceInvertido.contarAcimaDoLimiar(termosTexto, CalculadoraSimilaridade.LIMIAR_TEXTO)
+                    : avaliadas;
+        }
 
-        List<IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO> ideiasSemelhantes = todasIdeias.stream()
-                .map(ideia -> {
-                    double score = calculateSimilarityWithText(textoDescricao, ideia);
-                    return new IdeiaComScoreDetalhada(ideia, score, getCriteriosMatchTexto(textoDescricao, ideia));
-                })
-                .filter(ideiaScore -> ideiaScore.getScore() > 0.2)
-                .sorted((a, b) -> Double.compare(b.getScore(), a.getScore()))
-                .map(ideiaScore -> new IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO(
-                        assembler.toDTO(ideiaScore.getIdeia()),
-                        ideiaScore.getScore() * 100,
-                        getNivelSimilaridade(ideiaScore.getScore()),
-                        ideiaScore.getCriterios()
+        // Critérios só são montados para a página devolvida, e apenas com explain
+        List<IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO> ideiasSemelhantes = selecao.pagina(inicio).stream()
+                .map(avaliacao -> new IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO(
+                        assembler.toDTO(avaliacao.getIdeia()),
+                        avaliacao.getScore() * 100,
+                        calculadora.getNivelSimilaridade(avaliacao.getScore()),
+                        explain ? avaliacao.criterios() : null
                 ))
                 .collect(Collectors.toList());
 
         return new IdeiasSemelhantesResponseDTO(
                 "",
                 "Busca por texto: " + (textoDescricao.length() > 50 ? textoDescricao.substring(0, 50) + "..." : textoDescricao),
-                ideiasSemelhantes.size(),
-                ideiasSemelhantes
+                totalEncontradas,
+                ideiasSemelhantes,
+                parcial
         );
     }
 
-    private String getNivelSimilaridade(double score) {
-        if (score >= 0.7) return "Alta";
-        if (score >= 0.4) return "Média";
-        return "Baixa";
-    }
-
-    private List<String> getCriteriosMatch(Ideia ideia1, Ideia ideia2) {
-        List<String> criterios = new ArrayList<>();
-
-        if (ideia1.getCategoria() != null && ideia2.getCategoria() != null &&
-                ideia1.getCategoria().equals(ideia2.getCategoria())) {
-            criterios.add("Mesma categoria: " + ideia1.getCategoria());
+    /**
+     * Candidatos de {@link #findCandidatosPorTexto} divididos em blocos de {@code tamanhoBloco}.
+     * No modo INDICE cada bloco só é lido do banco quando for avaliado, e um prazo esgotado
+     * também evita as leituras restantes.
+     */
+    private List<Supplier<List<Ideia>>> findBlocosCandidatosPorTexto(Set<String> termosTexto, int quantidade) {
+        List<Supplier<List<Ideia>>> blocos = new ArrayList<>();
+        if (termosTexto.isEmpty()) {
+            return blocos;
         }
 
-        if (ideia1.getDesafioProblema() != null && ideia2.getDesafioProblema() != null) {
-            double similarity = calculateTextSimilarity(ideia1.getDesafioProblema(), ideia2.getDesafioProblema());
-            if (similarity > 0.3) {
-                criterios.add("Problemas similares (" + Math.round(similarity * 100) + "% match)");
+        if (!usaIndiceEmMemoria()) {
+            List<Ideia> candidatos = ideiaRepository.findCandidatosFulltext(String.join(" ", termosTexto), quantidade);
+            metricas.registrarCandidatos("findSimilarIdeiasFromTextWithDetails", candidatos.size());
+            for (int i = 0; i < candidatos.size(); i += tamanhoBloco) {
+                List<Ideia> bloco = candidatos.subList(i, Math.min(i + tamanhoBloco, candidatos.size()));
+                blocos.add(() -> bloco);
             }
+            return blocos;
         }
 
-        if (ideia1.getSolucaoDescricao() != null && ideia2.getSolucaoDescricao() != null) {
-            double similarity = calculateTextSimilarity(ideia1.getSolucaoDescricao(), ideia2.getSolucaoDescricao());
-            if (similarity > 0.3) {
-                criterios.add("Soluções similares (" + Math.round(similarity * 100) + "% match)");
-            }
+        List<String> ids = indiceInvertido.buscar(termosTexto, quantidade).stream()
+                .map(IndiceInvertidoIdeias.Resultado::ideiaId)
+                .toList();
+        metricas.registrarCandidatos("findSimilarIdeiasFromTextWithDetails", ids.size());
+        for (int i = 0; i < ids.size(); i += tamanhoBloco) {
+            List<String> bloco = ids.subList(i, Math.min(i + tamanhoBloco, ids.size()));
+            blocos.add(() -> ideiaRepository.findAllById(bloco));
         }
+        return blocos;
+    }
+
+    /**
+     * Invalida o cache de respostas com as versões gravadas pelos UPDATEs em massa, que não
+     * passam pela entidade, e descarta as listas de abertas por categoria.
+     */
+    private void invalidarAposCommit(Collection<String> ids) {
+        List<VersaoEntidade> versoes = ideiaRepository.findVersoes(ids);
+        aposCommit(() -> {
+            versoes.forEach(versao -> cacheJson.invalidar(versao.id(), versao.versao()));
+            invalidarAbertasPorCategoria();
+            dashboardService.invalidar();
+        });
+    }
+
+    // Ideias que já chegaram avaliadas (ex.: pelo agente) não são reavaliadas
+    private void enfileirarSemAvaliacao(List<Ideia> ideias) {
+        filaAvaliacao.enfileirar(ideias.stream()
+                .filter(ideia -> ideia.getAvaliacaoIA() == null || ideia.getAvaliacaoIA().isBlank())
+                .map(Ideia::getId)
+                .toList());
+    }
+
+    private void invalidarAbertasPorCategoria() {
+        travaAbertas.lock();
+        try {
+            geracaoAbertas++;
+            abertasPorCategoria.clear();
+        } finally {
+            travaAbertas.unlock();
+        }
+    }
 
-        return criterios;
+    private boolean usaIndiceEmMemoria() {
+        return modoRecuperacao == ModoRecuperacao.INDICE;
+    }
+
+    private int normalizarLimit(int limit) {
+        return Math.max(1, Math.min(limit, LIMITE_MAXIMO_SEMELHANTES));
+    }
+
+    private int normalizarOffset(int offset) {
+        if (offset > OFFSET_MAXIMO_SEMELHANTES) {
+            throw new PaginacaoInvalidaException(String.format(
+                    "offset deve ser no máximo %d", OFFSET_MAXIMO_SEMELHANTES));
+        }
+        return Math.max(0, offset);
     }
 
     public List<Ideia> findByNomeExperimento(String nomeExperimento) {
@@ -287,6 +539,13 @@ public class IdeiaService {
         return ideiaRepository.findByNomeExperimentoContainingIgnoreCase(nomeExperimento.trim());
     }
 
+    public List<IdeiaResumo> findResumosByNomeExperimento(String nomeExperimento) {
+        if (nomeExperimento == null || nomeExperimento.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return ideiaRepository.findResumosByNomeExperimento(nomeExperimento.trim());
+    }
+
     /**
      * Busca ideias por nome do experimento com status específico
      * @param nomeExperimento parte do nome do experimento
@@ -301,134 +560,201 @@ public class IdeiaService {
     }
 
     public List<Ideia> findIdeiasComFiltros(String nomeExperimento, Status status, CategoriaEnum categoria) {
-        // Se não há filtros, retorna todas
-        if ((nomeExperimento == null || nomeExperimento.trim().isEmpty()) &&
-                status == null && categoria == null) {
-            return findAll();
-        }
-
-        // Implementação usando Specifications ou Query customizada
-        List<Ideia> resultado = findAll();
-
-        // Filtro por nome
-        if (nomeExperimento != null && !nomeExperimento.trim().isEmpty()) {
-            String nomeLower = nomeExperimento.toLowerCase().trim();
-            resultado = resultado.stream()
-                    .filter(ideia -> ideia.getNomeExperimento() != null &&
-                            ideia.getNomeExperimento().toLowerCase().contains(nomeLower))
-                    .collect(Collectors.toList());
-        }
-
-        // Filtro por status
-        if (status != null) {
-            resultado = resultado.stream()
-                    .filter(ideia -> ideia.getStatus() == status)
-                    .collect(Collectors.toList());
-        }
-
-        // Filtro por categoria
-        if (categoria != null) {
-            resultado = resultado.stream()
-                    .filter(ideia -> ideia.getCategoria() == categoria)
-                    .collect(Collectors.toList());
-        }
-
-        return resultado;
-    }
-
-    private List<String> getCriteriosMatchTexto(String texto, Ideia ideia) {
-        List<String> criterios = new ArrayList<>();
-
-        if (ideia.getDesafioProblema() != null) {
-            double similarity = calculateTextSimilarity(texto, ideia.getDesafioProblema());
-            if (similarity > 0.2) {
-                criterios.add("Match com problema (" + Math.round(similarity * 100) + "%)");
-            }
-        }
-
-        if (ideia.getSolucaoDescricao() != null) {
-            double similarity = calculateTextSimilarity(texto, ideia.getSolucaoDescricao());
-            if (similarity > 0.2) {
-                criterios.add("Match com solução (" + Math.round(similarity * 100) + "%)");
-            }
-        }
-
-        if (ideia.getNomeExperimento() != null) {
-            double similarity = calculateTextSimilarity(texto, ideia.getNomeExperimento());
-            if (similarity > 0.2) {
-                criterios.add("Match com nome (" + Math.round(similarity * 100) + "%)");
-            }
-        }
-
-        return criterios;
+        return ideiaRepository.findAll(IdeiaSpecs.comFiltros(nomeExperimento, status, categoria));
     }
 
-    // Classes auxiliares
-    private static class IdeiaComScore {
-        private final Ideia ideia;
-        private final double score;
-
-        public IdeiaComScore(Ideia ideia, double score) {
-            this.ideia = ideia;
-            this.score = score;
-        }
-
-        public Ideia getIdeia() {
-            return ideia;
-        }
-
-        public double getScore() {
-            return score;
-        }
+    /**
+     * Filtra ideias por nome do experimento, status e categoria em uma única consulta paginada.
+     * Filtros nulos são ignorados.
+     */
+    public Page<Ideia> findIdeiasComFiltros(String nomeExperimento, Status status, CategoriaEnum categoria, Pageable pageable) {
+        return ideiaRepository.findAll(IdeiaSpecs.comFiltros(nomeExperimento, status, categoria), pageable);
     }
 
-    private static class IdeiaComScoreDetalhada extends IdeiaComScore {
-        private final List<String> criterios;
-
-        public IdeiaComScoreDetalhada(Ideia ideia, double score, List<String> criterios) {
-            super(ideia, score);
-            this.criterios = criterios;
-        }
-
-        public List<String> getCriterios() {
-            return criterios;
-        }
+    @Transactional
+    public Ideia save(Ideia ideia) {
+        CampoTexto.tokenizarCampos(ideia);
+        Ideia saved = ideiaRepository.save(ideia);
+        resumoDiarioService.registrarCriacao(TipoRegistro.IDEIA, List.of(saved.getId()));
+        aposCommit(() -> {
+            invalidarAbertasPorCategoria();
+            dashboardService.invalidar();
+            if (usaIndiceEmMemoria()) {
+                indiceInvertido.indexar(saved);
+            }
+            indiceLsh.indexar(saved);
+            vizinhancaService.recalcular(saved.getId());
+            matchingService.recalcularIdeias(List.of(saved.getId()));
+            enfileirarSemAvaliacao(List.of(saved));
+        });
+        return saved;
     }
 
+    /**
+     * Grava um bloco de ideias novas em uma única transação; os INSERTs são agrupados pelo
+     * batching JDBC. Índices e vizinhança são atualizados uma vez para o bloco, após o commit.
+     */
     @Transactional
-    public Ideia save(Ideia ideia) {
-        return ideiaRepository.save(ideia);
+    public List<Ideia> saveAll(List<Ideia> ideias) {
+        ideias.forEach(CampoTexto::tokenizarCampos);
+        List<Ideia> salvas = ideiaRepository.saveAll(ideias);
+        resumoDiarioService.registrarCriacao(TipoRegistro.IDEIA, salvas.stream().map(Ideia::getId).toList());
+        aposCommit(() -> {
+            for (Ideia salva : salvas) {
+                if (usaIndiceEmMemoria()) {
+                    indiceInvertido.indexar(salva);
+                }
+                indiceLsh.indexar(salva);
+            }
+            List<String> ids = salvas.stream().map(Ideia::getId).toList();
+            vizinhancaService.recalcularLote(ids);
+            matchingService.recalcularIdeias(ids);
+            invalidarAbertasPorCategoria();
+            dashboardService.invalidar();
+            enfileirarSemAvaliacao(salvas);
+        });
+        return salvas;
     }
 
+    /**
+     * Grava as alterações de uma ideia. Se o texto avaliado pela IA mudou e a avaliação não foi
+     * trocada na mesma escrita, a ideia volta para a fila de avaliação; a avaliação anterior
+     * continua visível até a nova ser gravada.
+     */
     @Transactional
     public Ideia update(Ideia ideia) {
-        return ideiaRepository.save(ideia);
+        List<ChaveResumo> antes = resumoDiarioService.chaves(TipoRegistro.IDEIA, List.of(ideia.getId()));
+        boolean reavaliar = ideiaRepository.findTextoAvaliado(ideia.getId())
+                .map(anterior -> anterior.textoAlterado(ideia)
+                        && Objects.equals(anterior.avaliacaoIA(), ideia.getAvaliacaoIA()))
+                .orElse(false);
+        CampoTexto.tokenizarCampos(ideia);
+        Ideia saved = ideiaRepository.save(ideia);
+        resumoDiarioService.registrarAlteracao(TipoRegistro.IDEIA, antes, List.of(saved.getId()));
+        aposCommit(() -> {
+            // A versão só é incrementada no flush, então é lida depois do commit
+            cacheJson.invalidar(saved.getId(), saved.getVersao());
+            invalidarAbertasPorCategoria();
+            dashboardService.invalidar();
+            if (usaIndiceEmMemoria()) {
+                indiceInvertido.indexar(saved);
+            }
+            indiceLsh.indexar(saved);
+            vizinhancaService.recalcular(saved.getId());
+            matchingService.recalcularIdeias(List.of(saved.getId()));
+            if (reavaliar) {
+                filaAvaliacao.reavaliar(List.of(saved.getId()));
+            } else {
+                enfileirarSemAvaliacao(List.of(saved));
+            }
+        });
+        return saved;
     }
 
     @Transactional
     public void updateStatus(String id, Status status) {
-        Ideia ideia = findById(id);
-        ideia.setStatus(status);
-        ideiaRepository.save(ideia);
+        List<ChaveResumo> antes = resumoDiarioService.chaves(TipoRegistro.IDEIA, List.of(id));
+        if (ideiaRepository.updateStatus(id, status) == 0) {
+            throw new IdeiaNotFoundException(id);
+        }
+        resumoDiarioService.registrarAlteracao(TipoRegistro.IDEIA, antes, List.of(id));
+        invalidarAposCommit(List.of(id));
+    }
+
+    /**
+     * Move várias ideias para o mesmo status em um único UPDATE, para as aprovações em lote
+     * do comitê. Ids inexistentes são ignorados.
+     * @return quantidade de ideias atualizadas
+     */
+    @Transactional
+    public int updateStatusEmLote(Collection<String> ids, Status status) {
+        Set<String> distintos = new LinkedHashSet<>(ids);
+        if (distintos.isEmpty()) {
+            return 0;
+        }
+        if (distintos.size() > MAXIMO_IDS_ATUALIZACAO) {
+            throw new LoteInvalidoException(String.format("O lote deve ter no máximo %d ids", MAXIMO_IDS_ATUALIZACAO));
+        }
+        List<ChaveResumo> antes = resumoDiarioService.chaves(TipoRegistro.IDEIA, distintos);
+        int atualizadas = ideiaRepository.updateStatusEmLote(distintos, status);
+        resumoDiarioService.registrarAlteracao(TipoRegistro.IDEIA, antes, distintos);
+        invalidarAposCommit(distintos);
+        return atualizadas;
     }
 
     @Transactional
     public void delete(String id) {
         Ideia ideia = findById(id);
+        // Os vínculos de matching saem em cascata; os problemas afetados têm o score recalculado
+        List<String> problemasVinculados = matchingService.findProblemasVinculados(List.of(id));
+        List<ChaveResumo> linhasResumo = resumoDiarioService.chaves(TipoRegistro.IDEIA, List.of(id));
+        // As linhas de vizinhança saem em cascata; as listas que continham a ideia são completadas
+        List<String> listasAfetadas = vizinhancaService.findIdeiasComVizinhas(List.of(id));
         ideiaRepository.delete(ideia);
+        resumoDiarioService.registrarExclusao(TipoRegistro.IDEIA, linhasResumo);
+        aposCommit(() -> {
+            // Fora do índice antes de completar as listas, que buscam candidatos nele
+            if (usaIndiceEmMemoria()) {
+                indiceInvertido.remover(id);
+            }
+            indiceLsh.remover(id);
+            matchingService.atualizarMatchingScores(problemasVinculados);
+            if (!listasAfetadas.isEmpty()) {
+                vizinhancaService.completarListas(listasAfetadas);
+            }
+            cacheJson.invalidar(id, CacheRespostaJson.VERSAO_EXCLUIDA);
+            invalidarAbertasPorCategoria();
+            dashboardService.invalidar();
+        });
     }
 
     @Transactional
     public void updateAvaliacaoIA(String id, String avaliacao) {
-        Ideia ideia = findById(id);
-        ideia.setAvaliacaoIA(avaliacao);
-        ideiaRepository.save(ideia);
+        if (ideiaRepository.updateAvaliacaoIA(id, avaliacao) == 0) {
+            throw new IdeiaNotFoundException(id);
+        }
+        invalidarAposCommit(List.of(id));
+    }
+
+    /**
+     * Grava as avaliações produzidas pela {@link FilaAvaliacaoIA} em uma única transação.
+     * Ideias excluídas enquanto aguardavam são ignoradas.
+     * @return quantidade de ideias atualizadas
+     */
+    @Transactional
+    public int updateAvaliacoesIA(Map<String, String> avaliacoes) {
+        List<String> atualizadas = avaliacoes.entrySet().stream()
+                .filter(avaliacao -> ideiaRepository.updateAvaliacaoIA(avaliacao.getKey(), avaliacao.getValue()) > 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!atualizadas.isEmpty()) {
+            invalidarAposCommit(atualizadas);
+        }
+        return atualizadas.size();
     }
 
     @Transactional
     public void updateAvaliacaoHumana(String id, String avaliacao) {
-        Ideia ideia = findById(id);
-        ideia.setAvaliacaoHumana(avaliacao);
-        ideiaRepository.save(ideia);
+        if (ideiaRepository.updateAvaliacaoHumana(id, avaliacao) == 0) {
+            throw new IdeiaNotFoundException(id);
+        }
+        invalidarAposCommit(List.of(id));
+    }
+
+    /**
+     * Executa a ação somente após o commit da transação corrente, para que os índices e caches
+     * em memória nunca reflitam uma escrita que sofreu rollback.
+     */
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
     }
 }
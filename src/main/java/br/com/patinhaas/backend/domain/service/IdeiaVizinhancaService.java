@@ -0,0 +1,298 @@
+package br.com.patinhaas.backend.domain.service;
+
+import br.com.patinhaas.backend.domain.model.IdeiaVizinha;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.IdeiaVizinhaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaTermos;
+import br.com.patinhaas.backend.domain.repository.projecao.ResumoVizinhanca;
+import br.com.patinhaas.backend.domain.service.similaridade.AvaliacaoSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.CalculadoraSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.IndiceInvertidoIdeias;
+import br.com.patinhaas.backend.domain.service.similaridade.ModoRecuperacao;
+import br.com.patinhaas.backend.domain.service.similaridade.SelecaoTopK;
+import br.com.patinhaas.backend.domain.service.similaridade.TermosIdeia;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém a tabela ideias_vizinhas: para cada ideia, as {@code patinhas.vizinhanca.max-vizinhas}
+ * ideias de maior score acima do limiar. A tabela cresce com o acervo, e não com o número de
+ * pares da mesma categoria.
+ * <p>
+ * Uma escrita em uma ideia refaz a lista dela e as listas que a continham; nas demais ela só
+ * entra se superar a vizinha de menor score. Os recálculos rodam em background e só leem os
+ * termos das ideias cujas listas são refeitas: os candidatos e as interseções de termos vêm do
+ * índice invertido em memória ({@link CalculadoraSimilaridade#avaliarContra(TermosIdeia, IndiceInvertidoIdeias)}).
+ * No modo FULLTEXT o índice não é mantido, e o acervo inteiro (id, categoria e termos) é lido e
+ * pontuado. Exclusões removem as linhas em cascata; as listas que perderam a ideia excluída são
+ * completadas por {@link #completarListas}.
+ */
+@Service
+public class IdeiaVizinhancaService {
+
+    // Ideias por transação na carga inicial
+    private static final int TAMANHO_BLOCO_CARGA = 500;
+
+    // Limite das cláusulas IN das consultas por lista
+    private static final int TAMANHO_BLOCO_CONSULTA = 1000;
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    @Autowired
+    private IdeiaVizinhaRepository vizinhaRepository;
+
+    @Autowired
+    private CalculadoraSimilaridade calculadora;
+
+    @Autowired
+    private IndiceInvertidoIdeias indiceInvertido;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${patinhas.similaridade.recuperacao:INDICE}")
+    private ModoRecuperacao modoRecuperacao;
+
+    // A página de semelhantes de GET /ideias/{id}/semelhantes não passa desse limite
+    @Value("${patinhas.vizinhanca.max-vizinhas:50}")
+    private int maxVizinhas;
+
+    public List<IdeiaVizinha> findMaisSemelhantes(String ideiaId, int quantidade) {
+        return vizinhaRepository.findMaisSemelhantes(ideiaId, PageRequest.of(0, quantidade));
+    }
+
+    public long countVizinhas(String ideiaId) {
+        return vizinhaRepository.countByIdeiaId(ideiaId);
+    }
+
+    public boolean isVazia() {
+        return vizinhaRepository.count() == 0;
+    }
+
+    /**
+     * Ideias cujas listas contêm alguma das informadas. Lidas antes de uma exclusão, para que
+     * essas listas sejam completadas depois.
+     */
+    public List<String> findIdeiasComVizinhas(Collection<String> ideiaIds) {
+        return vizinhaRepository.findIdeiasComVizinhas(ideiaIds);
+    }
+
+    @Async("vizinhancaExecutor")
+    @Transactional
+    public void recalcular(String ideiaId) {
+        atualizar(List.of(ideiaId));
+    }
+
+    /**
+     * Recalcula as listas de várias ideias em uma única passada.
+     */
+    @Async("vizinhancaExecutor")
+    @Transactional
+    public void recalcularLote(Collection<String> ideiaIds) {
+        atualizar(ideiaIds);
+    }
+
+    /**
+     * Refaz apenas as listas das ideias informadas, sem mexer nas listas em que elas aparecem.
+     */
+    @Async("vizinhancaExecutor")
+    @Transactional
+    public void completarListas(Collection<String> ideiaIds) {
+        Set<String> refazer = new HashSet<>(ideiaIds);
+        refazer.forEach(vizinhaRepository::deleteDaIdeia);
+
+        List<TermosIdeia> todas = acervo();
+        List<IdeiaVizinha> vizinhas = new ArrayList<>();
+        for (TermosIdeia base : bases(refazer, todas)) {
+            maisSemelhantes(base, todas).forEach(avaliacao -> vizinhas.add(vizinha(base, avaliacao)));
+        }
+        vizinhaRepository.saveAll(vizinhas);
+    }
+
+    /**
+     * Carga inicial: a lista de cada ideia é calculada contra o acervo e gravada em blocos de
+     * {@value #TAMANHO_BLOCO_CARGA} ideias, cada bloco na sua transação.
+     */
+    @Async("vizinhancaExecutor")
+    public void recalcularTudo() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> vizinhaRepository.deleteAllInBatch());
+
+        if (usaIndiceEmMemoria()) {
+            // Só o bloco corrente de bases fica em memória; os candidatos vêm do índice
+            PageRequest pagina = PageRequest.of(0, TAMANHO_BLOCO_CARGA);
+            String ultimoId = "";
+            List<IdeiaTermos> bloco;
+            do {
+                bloco = ideiaRepository.findTermosApos(ultimoId, pagina);
+                if (bloco.isEmpty()) {
+                    break;
+                }
+                gravarListas(transacao, calculadora.termosDe(bloco), List.of());
+                ultimoId = bloco.get(bloco.size() - 1).id();
+            } while (bloco.size() == TAMANHO_BLOCO_CARGA);
+            return;
+        }
+
+        List<TermosIdeia> todas = calculadora.termosDe(ideiaRepository.findTodosTermos());
+        for (int inicio = 0; inicio < todas.size(); inicio += TAMANHO_BLOCO_CARGA) {
+            gravarListas(transacao, todas.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CARGA, todas.size())), todas);
+        }
+    }
+
+    private void gravarListas(TransactionTemplate transacao, List<TermosIdeia> bases, List<TermosIdeia> todas) {
+        List<IdeiaVizinha> vizinhas = new ArrayList<>();
+        for (TermosIdeia base : bases) {
+            maisSemelhantes(base, todas).forEach(avaliacao -> vizinhas.add(vizinha(base, avaliacao)));
+        }
+        transacao.executeWithoutResult(status -> vizinhaRepository.saveAll(vizinhas));
+    }
+
+    private void atualizar(Collection<String> ideiaIds) {
+        Set<String> lote = new HashSet<>(ideiaIds);
+        // Listas que continham uma ideia do lote são refeitas: o score mudou ou a ideia saiu delas
+        Set<String> refazer = new HashSet<>(vizinhaRepository.findIdeiasComVizinhas(lote));
+        lote.forEach(vizinhaRepository::deleteEnvolvendo);
+        refazer.forEach(vizinhaRepository::deleteDaIdeia);
+        refazer.addAll(lote);
+
+        List<TermosIdeia> todas = acervo();
+        List<IdeiaVizinha> vizinhas = new ArrayList<>();
+        Map<String, List<IdeiaVizinha>> candidatas = new HashMap<>();
+        for (TermosIdeia base : bases(refazer, todas)) {
+            String ideiaId = base.getIdeia().getId();
+            if (!lote.contains(ideiaId)) {
+                maisSemelhantes(base, todas).forEach(avaliacao -> vizinhas.add(vizinha(base, avaliacao)));
+                continue;
+            }
+
+            List<AvaliacaoSimilaridade> avaliacoes = avaliarContraAcervo(base, todas);
+            SelecaoTopK<AvaliacaoSimilaridade> selecao = new SelecaoTopK<>(maxVizinhas, AvaliacaoSimilaridade::getScore);
+            for (AvaliacaoSimilaridade avaliacao : avaliacoes) {
+                selecao.oferecer(avaliacao);
+                // O score é simétrico: a ideia do lote é candidata à lista de cada semelhante
+                String vizinhaId = avaliacao.getIdeia().getId();
+                if (!refazer.contains(vizinhaId)) {
+                    candidatas.computeIfAbsent(vizinhaId, id -> new ArrayList<>())
+                            .add(new IdeiaVizinha(vizinhaId, ideiaId, avaliacao.getScore(), avaliacao.criterios()));
+                }
+            }
+            selecao.pagina(0).forEach(avaliacao -> vizinhas.add(vizinha(base, avaliacao)));
+        }
+        vizinhaRepository.saveAll(vizinhas);
+        mesclar(candidatas);
+    }
+
+    /**
+     * Inclui as candidatas nas listas existentes, descartando as vizinhas que saírem do limite.
+     * Só as listas incompletas ou com menor score abaixo de alguma candidata são carregadas.
+     */
+    private void mesclar(Map<String, List<IdeiaVizinha>> candidatas) {
+        List<String> ideiaIds = new ArrayList<>(candidatas.keySet());
+        for (int inicio = 0; inicio < ideiaIds.size(); inicio += TAMANHO_BLOCO_CONSULTA) {
+            List<String> bloco = ideiaIds.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CONSULTA, ideiaIds.size()));
+            Map<String, ResumoVizinhanca> resumos = vizinhaRepository.findResumos(bloco).stream()
+                    .collect(Collectors.toMap(ResumoVizinhanca::ideiaId, resumo -> resumo));
+
+            List<String> alteradas = new ArrayList<>();
+            for (String ideiaId : bloco) {
+                ResumoVizinhanca resumo = resumos.get(ideiaId);
+                List<IdeiaVizinha> entram = candidatas.get(ideiaId).stream()
+                        .filter(candidata -> resumo == null || resumo.quantidade() < maxVizinhas
+                                || candidata.getScore() > resumo.menorScore())
+                        .toList();
+                if (entram.isEmpty()) {
+                    candidatas.remove(ideiaId);
+                } else {
+                    candidatas.put(ideiaId, entram);
+                    alteradas.add(ideiaId);
+                }
+            }
+            if (alteradas.isEmpty()) {
+                continue;
+            }
+
+            Map<String, List<IdeiaVizinha>> atuais = vizinhaRepository.findByIdeiaIdIn(alteradas).stream()
+                    .collect(Collectors.groupingBy(IdeiaVizinha::getIdeiaId));
+            List<IdeiaVizinha> novas = new ArrayList<>();
+            for (String ideiaId : alteradas) {
+                List<IdeiaVizinha> lista = new ArrayList<>(atuais.getOrDefault(ideiaId, List.of()));
+                lista.addAll(candidatas.get(ideiaId));
+                lista.sort(Comparator.comparingDouble(IdeiaVizinha::getScore).reversed());
+
+                List<IdeiaVizinha> mantidas = lista.subList(0, Math.min(maxVizinhas, lista.size()));
+                List<String> descartadas = lista.subList(mantidas.size(), lista.size()).stream()
+                        .filter(vizinha -> !vizinha.isNew())
+                        .map(IdeiaVizinha::getVizinhaId)
+                        .toList();
+                if (!descartadas.isEmpty()) {
+                    vizinhaRepository.deletePares(ideiaId, descartadas);
+                }
+                mantidas.stream().filter(IdeiaVizinha::isNew).forEach(novas::add);
+            }
+            vizinhaRepository.saveAll(novas);
+        }
+    }
+
+    /**
+     * Termos do acervo inteiro, só necessários sem o índice em memória (modo FULLTEXT).
+     */
+    private List<TermosIdeia> acervo() {
+        return usaIndiceEmMemoria() ? List.of() : calculadora.termosDe(ideiaRepository.findTodosTermos());
+    }
+
+    /**
+     * Termos das ideias cujas listas serão refeitas: lidos pela chave primária com o índice em
+     * memória, ou filtrados do acervo já lido.
+     */
+    private List<TermosIdeia> bases(Set<String> ideiaIds, List<TermosIdeia> todas) {
+        if (!usaIndiceEmMemoria()) {
+            return todas.stream().filter(termos -> ideiaIds.contains(termos.getIdeia().getId())).toList();
+        }
+        List<String> ids = new ArrayList<>(ideiaIds);
+        List<TermosIdeia> bases = new ArrayList<>(ids.size());
+        for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_CONSULTA) {
+            bases.addAll(calculadora.termosDe(ideiaRepository.findTermos(
+                    ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_CONSULTA, ids.size())))));
+        }
+        return bases;
+    }
+
+    private List<AvaliacaoSimilaridade> avaliarContraAcervo(TermosIdeia base, List<TermosIdeia> todas) {
+        return usaIndiceEmMemoria()
+                ? calculadora.avaliarContra(base, indiceInvertido)
+                : calculadora.avaliarContra(base, todas);
+    }
+
+    private List<AvaliacaoSimilaridade> maisSemelhantes(TermosIdeia base, List<TermosIdeia> todas) {
+        SelecaoTopK<AvaliacaoSimilaridade> selecao = new SelecaoTopK<>(maxVizinhas, AvaliacaoSimilaridade::getScore);
+        avaliarContraAcervo(base, todas).forEach(selecao::oferecer);
+        return selecao.pagina(0);
+    }
+
+    private boolean usaIndiceEmMemoria() {
+        return modoRecuperacao == ModoRecuperacao.INDICE;
+    }
+
+    private IdeiaVizinha vizinha(TermosIdeia base, AvaliacaoSimilaridade avaliacao) {
+        return new IdeiaVizinha(base.getIdeia().getId(), avaliacao.getIdeia().getId(), avaliacao.getScore(),
+                avaliacao.criterios());
+    }
+}
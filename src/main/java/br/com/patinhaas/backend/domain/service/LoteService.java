@@ -0,0 +1,116 @@
+package br.com.patinhaas.backend.domain.service;
+
+import br.com.patinhaas.backend.api.v2.dto.lote.ResultadoLoteResponseDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.ResultadoLoteResponseDTO.ItemLoteDTO;
+import br.com.patinhaas.backend.api.v2.dto.lote.ResultadoLoteResponseDTO.SituacaoItemLote;
+import br.com.patinhaas.backend.domain.exception.LoteInvalidoException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Criação em lote: valida cada item, grava os válidos em blocos de
+ * {@code patinhas.lote.tamanho-bloco} e devolve um resultado por item.
+ * <p>
+ * Cada bloco é gravado em uma transação própria pelo {@code gravador}, com os INSERTs
+ * agrupados pelo batching JDBC do Hibernate (ver JpaConfig); uma falha desfaz só o seu bloco.
+ */
+@Slf4j
+@Service
+public class LoteService {
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${patinhas.lote.maximo:1000}")
+    private int maximoItens;
+
+    @Value("${patinhas.lote.tamanho-bloco:50}")
+    private int tamanhoBloco;
+
+    /**
+     * @param itens DTOs recebidos, na ordem da requisição
+     * @param conversor conversão do DTO para a entidade
+     * @param gravador método transacional que grava um bloco e devolve as entidades salvas, na mesma ordem
+     * @param id identificador da entidade salva
+     */
+    public <D, E> ResultadoLoteResponseDTO criar(List<D> itens, Function<D, E> conversor,
+                                                 Function<List<E>, List<E>> gravador, Function<E, String> id) {
+        if (itens == null || itens.isEmpty()) {
+            throw new LoteInvalidoException("O lote deve ter ao menos um item");
+        }
+        if (itens.size() > maximoItens) {
+            throw new LoteInvalidoException(String.format("O lote deve ter no máximo %d itens", maximoItens));
+        }
+
+        List<ItemLoteDTO> resultados = new ArrayList<>(itens.size());
+        List<Integer> indicesBloco = new ArrayList<>(tamanhoBloco);
+        List<E> bloco = new ArrayList<>(tamanhoBloco);
+
+        for (int i = 0; i < itens.size(); i++) {
+            D item = itens.get(i);
+            List<String> erros = validar(item);
+            E entidade = null;
+            if (erros.isEmpty()) {
+                entidade = conversor.apply(item);
+                erros = validar(entidade);
+            }
+            if (!erros.isEmpty()) {
+                resultados.add(new ItemLoteDTO(i, null, SituacaoItemLote.INVALIDO, erros));
+                continue;
+            }
+
+            indicesBloco.add(i);
+            bloco.add(entidade);
+            if (bloco.size() == tamanhoBloco) {
+                gravarBloco(bloco, indicesBloco, gravador, id, resultados);
+            }
+        }
+        if (!bloco.isEmpty()) {
+            gravarBloco(bloco, indicesBloco, gravador, id, resultados);
+        }
+
+        resultados.sort(Comparator.comparingInt(ItemLoteDTO::getIndice));
+        int criados = (int) resultados.stream().filter(r -> r.getSituacao() == SituacaoItemLote.CRIADO).count();
+        return new ResultadoLoteResponseDTO(itens.size(), criados, itens.size() - criados, resultados);
+    }
+
+    private <E> void gravarBloco(List<E> bloco, List<Integer> indices, Function<List<E>, List<E>> gravador,
+                                 Function<E, String> id, List<ItemLoteDTO> resultados) {
+        try {
+            List<E> salvos = gravador.apply(bloco);
+            for (int i = 0; i < salvos.size(); i++) {
+                resultados.add(new ItemLoteDTO(indices.get(i), id.apply(salvos.get(i)), SituacaoItemLote.CRIADO, List.of()));
+            }
+        } catch (RuntimeException e) {
+            // A transação do bloco foi desfeita: nenhum de seus itens foi gravado. A causa vai para
+            // o log; a mensagem do Hibernate/JDBC expõe tabelas e constraints e não volta ao cliente
+            log.error("Falha ao gravar o bloco dos itens {}", indices, e);
+            List<String> erros = List.of("Falha ao gravar o bloco; nenhum item do bloco foi criado");
+            indices.forEach(indice -> resultados.add(new ItemLoteDTO(indice, null, SituacaoItemLote.ERRO, erros)));
+        }
+        bloco.clear();
+        indices.clear();
+    }
+
+    private List<String> validar(Object objeto) {
+        // Um null no array JSON vira um item inválido, e não uma falha do lote inteiro
+        if (objeto == null) {
+            return List.of("item: não pode ser nulo");
+        }
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(objeto);
+        return violacoes.stream()
+                .map(violacao -> violacao.getPropertyPath() + ": " + violacao.getMessage())
+                .sorted()
+                .toList();
+    }
+}
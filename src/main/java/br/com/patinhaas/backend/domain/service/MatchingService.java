@@ -0,0 +1,341 @@
+package br.com.patinhaas.backend.domain.service;
+
+import br.com.patinhaas.backend.api.v2.converter.IdeiaAssemblerV2;
+import br.com.patinhaas.backend.api.v2.dto.ideia.IdeiasSemelhantesResponseDTO;
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.ProblemaIdeia;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.ProblemaIdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.ProblemaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.ProblemaTermos;
+import br.com.patinhaas.backend.domain.repository.projecao.ResumoMatching;
+import br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade;
+import br.com.patinhaas.backend.domain.service.similaridade.CalculadoraSimilaridade;
+import br.com.patinhaas.backend.domain.service.similaridade.SelecaoTopK;
+import br.com.patinhaas.backend.domain.service.similaridade.TermosIdeia;
+import br.com.patinhaas.backend.domain.service.similaridade.Tokenizador;
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Matching problema-ideia. Cada problema é pontuado contra o acervo de ideias pelos termos de
+ * descrição, processo e tipo de solução esperada; as {@code patinhas.matching.max-ideias} ideias
+ * de maior score acima de {@link CalculadoraSimilaridade#LIMIAR_MATCHING} ficam em
+ * problemas_ideias e o maior score vira o {@code matchingScore} do problema.
+ * <p>
+ * Escritas não enfileiram uma tarefa cada: os ids ficam em conjuntos de pendentes e uma única
+ * drenagem no {@code matchingExecutor} os processa em lotes de {@code patinhas.matching.tamanho-lote},
+ * cada lote na sua transação. Rajadas de escritas no mesmo id viram um único recálculo, e a
+ * memória pendente fica limitada ao número de ids distintos. Os recálculos leem só projeções
+ * (id, categoria e termos) de ideias e problemas.
+ * <p>
+ * Uma ideia recalculada entra na lista de um problema se a lista estiver incompleta ou se
+ * superar o menor score dela. Listas que perdem uma ideia não são completadas até a próxima
+ * carga completa; o maior score continua correto, porque só saem as ideias do fim da lista.
+ */
+@Service
+public class MatchingService {
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    @Autowired
+    private ProblemaRepository problemaRepository;
+
+    @Autowired
+    private ProblemaIdeiaRepository problemaIdeiaRepository;
+
+    @Autowired
+    private CalculadoraSimilaridade calculadora;
+
+    @Autowired
+    @Qualifier("cacheProblemasJson")
+    private CacheRespostaJson cacheProblemasJson;
+
+    @Autowired
+    @Qualifier("matchingExecutor")
+    private TaskExecutor matchingExecutor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Problemas pontuados por tarefa na carga completa, que roda em paralelo
+    @Value("${patinhas.matching.tamanho-bloco:100}")
+    private int tamanhoBloco;
+
+    // Ideias vinculadas por problema; também limita a página de ideias recomendadas
+    @Value("${patinhas.matching.max-ideias:50}")
+    private int maxIdeias;
+
+    // Ids retirados dos pendentes por transação da drenagem
+    @Value("${patinhas.matching.tamanho-lote:200}")
+    private int tamanhoLote;
+
+    private final Set<String> problemasPendentes = ConcurrentHashMap.newKeySet();
+    private final Set<String> ideiasPendentes = ConcurrentHashMap.newKeySet();
+    private final Set<String> scoresPendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean drenagemAgendada = new AtomicBoolean();
+
+    /**
+     * Ideias mais adequadas ao problema, do maior para o menor score.
+     */
+    public List<IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO> findIdeiasRecomendadas(String problemaId, int quantidade,
+                                                                                      IdeiaAssemblerV2 assembler) {
+        List<ProblemaIdeia> vinculos = problemaIdeiaRepository.findMelhores(problemaId, PageRequest.of(0, quantidade));
+        Map<String, Ideia> ideias = ideiaRepository.findAllById(vinculos.stream().map(ProblemaIdeia::getIdeiaId).toList())
+                .stream()
+                .collect(Collectors.toMap(Ideia::getId, Function.identity()));
+
+        return vinculos.stream()
+                .filter(vinculo -> ideias.containsKey(vinculo.getIdeiaId()))
+                .map(vinculo -> new IdeiasSemelhantesResponseDTO.IdeiaComScoreDTO(
+                        assembler.toDTO(ideias.get(vinculo.getIdeiaId())),
+                        vinculo.getScore() * 100,
+                        calculadora.getNivelSimilaridade(vinculo.getScore()),
+                        null
+                ))
+                .collect(Collectors.toList());
+    }
+
+    public List<String> findProblemasVinculados(Collection<String> ideiaIds) {
+        return problemaIdeiaRepository.findProblemaIds(ideiaIds);
+    }
+
+    public boolean precisaCargaInicial() {
+        return problemaIdeiaRepository.count() == 0 && problemaRepository.count() > 0;
+    }
+
+    public void recalcularProblemas(Collection<String> problemaIds) {
+        problemasPendentes.addAll(problemaIds);
+        agendarDrenagem();
+    }
+
+    public void recalcularIdeias(Collection<String> ideiaIds) {
+        ideiasPendentes.addAll(ideiaIds);
+        agendarDrenagem();
+    }
+
+    /**
+     * Recalcula o matching score de problemas cujos vínculos foram removidos em cascata.
+     */
+    public void atualizarMatchingScores(Collection<String> problemaIds) {
+        scoresPendentes.addAll(problemaIds);
+        agendarDrenagem();
+    }
+
+    /**
+     * Carga completa: os problemas são divididos em blocos pontuados em paralelo contra o
+     * acervo, que é tokenizado uma única vez e compartilhado só para leitura.
+     */
+    @Async("matchingExecutor")
+    @Transactional
+    public void recalcularTudo() {
+        problemaIdeiaRepository.deleteAllInBatch();
+
+        List<TermosIdeia> ideias = calculadora.termosDe(ideiaRepository.findTodosTermos());
+        List<ProblemaTermos> problemas = problemaRepository.findTodosTermos();
+
+        List<List<ProblemaTermos>> blocos = new ArrayList<>();
+        for (int i = 0; i < problemas.size(); i += tamanhoBloco) {
+            blocos.add(problemas.subList(i, Math.min(i + tamanhoBloco, problemas.size())));
+        }
+        List<ProblemaIdeia> vinculos = blocos.parallelStream()
+                .flatMap(bloco -> bloco.stream().flatMap(problema -> pontuar(problema, ideias).stream()))
+                .toList();
+
+        problemaIdeiaRepository.saveAll(vinculos);
+        atualizarScores(problemas.stream().map(ProblemaTermos::id).toList());
+    }
+
+    private void agendarDrenagem() {
+        if (drenagemAgendada.compareAndSet(false, true)) {
+            matchingExecutor.execute(this::drenar);
+        }
+    }
+
+    private void drenar() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        try {
+            for (List<String> lote = retirar(problemasPendentes); !lote.isEmpty(); lote = retirar(problemasPendentes)) {
+                List<String> problemaIds = lote;
+                transacao.executeWithoutResult(status -> pontuarProblemas(problemaIds));
+            }
+            for (List<String> lote = retirar(ideiasPendentes); !lote.isEmpty(); lote = retirar(ideiasPendentes)) {
+                List<String> ideiaIds = lote;
+                transacao.executeWithoutResult(status -> pontuarIdeias(ideiaIds));
+            }
+            for (List<String> lote = retirar(scoresPendentes); !lote.isEmpty(); lote = retirar(scoresPendentes)) {
+                List<String> problemaIds = lote;
+                transacao.executeWithoutResult(status -> atualizarScores(problemaIds));
+            }
+        } finally {
+            // Ids adicionados depois da última retirada ganham uma nova drenagem
+            drenagemAgendada.set(false);
+            if (!problemasPendentes.isEmpty() || !ideiasPendentes.isEmpty() || !scoresPendentes.isEmpty()) {
+                agendarDrenagem();
+            }
+        }
+    }
+
+    private List<String> retirar(Set<String> pendentes) {
+        List<String> lote = new ArrayList<>();
+        Iterator<String> iterator = pendentes.iterator();
+        while (lote.size() < tamanhoLote && iterator.hasNext()) {
+            lote.add(iterator.next());
+            iterator.remove();
+        }
+        return lote;
+    }
+
+    private void pontuarProblemas(Collection<String> problemaIds) {
+        problemaIdeiaRepository.deleteByProblemaIds(problemaIds);
+
+        List<ProblemaTermos> problemas = problemaRepository.findTermos(problemaIds);
+        if (!problemas.isEmpty()) {
+            List<TermosIdeia> ideias = calculadora.termosDe(ideiaRepository.findTodosTermos());
+            List<ProblemaIdeia> vinculos = new ArrayList<>();
+            problemas.forEach(problema -> vinculos.addAll(pontuar(problema, ideias)));
+            problemaIdeiaRepository.saveAll(vinculos);
+        }
+        atualizarScores(problemaIds);
+    }
+
+    private void pontuarIdeias(Collection<String> ideiaIds) {
+        // Problemas que perderem o vínculo também precisam do score recalculado
+        Set<String> afetados = new HashSet<>(problemaIdeiaRepository.findProblemaIds(ideiaIds));
+        problemaIdeiaRepository.deleteByIdeiaIds(ideiaIds);
+
+        List<TermosIdeia> ideias = calculadora.termosDe(ideiaRepository.findTermos(ideiaIds));
+        if (!ideias.isEmpty()) {
+            Map<String, List<ProblemaIdeia>> candidatos = new HashMap<>();
+            for (ProblemaTermos problema : problemaRepository.findTodosTermos()) {
+                List<ProblemaIdeia> vinculos = pontuar(problema, ideias);
+                if (!vinculos.isEmpty()) {
+                    candidatos.put(problema.id(), vinculos);
+                }
+            }
+            afetados.addAll(mesclar(candidatos));
+        }
+        atualizarScores(afetados);
+    }
+
+    /**
+     * Inclui os vínculos candidatos nas listas dos problemas, descartando os que saírem do
+     * limite. Só as listas incompletas ou com menor score abaixo de algum candidato são carregadas.
+     * @return problemas cujas listas mudaram
+     */
+    private Set<String> mesclar(Map<String, List<ProblemaIdeia>> candidatos) {
+        Map<String, ResumoMatching> resumos = new HashMap<>();
+        List<String> problemaIds = new ArrayList<>(candidatos.keySet());
+        for (int inicio = 0; inicio < problemaIds.size(); inicio += tamanhoLote) {
+            problemaIdeiaRepository.findResumos(problemaIds.subList(inicio, Math.min(inicio + tamanhoLote, problemaIds.size())))
+                    .forEach(resumo -> resumos.put(resumo.problemaId(), resumo));
+        }
+
+        Map<String, List<ProblemaIdeia>> entram = new HashMap<>();
+        candidatos.forEach((problemaId, vinculos) -> {
+            ResumoMatching resumo = resumos.get(problemaId);
+            List<ProblemaIdeia> aceitos = vinculos.stream()
+                    .filter(vinculo -> resumo == null || resumo.quantidade() < maxIdeias
+                            || vinculo.getScore() > resumo.menorScore())
+                    .toList();
+            if (!aceitos.isEmpty()) {
+                entram.put(problemaId, aceitos);
+            }
+        });
+
+        List<String> alterados = new ArrayList<>(entram.keySet());
+        for (int inicio = 0; inicio < alterados.size(); inicio += tamanhoLote) {
+            List<String> bloco = alterados.subList(inicio, Math.min(inicio + tamanhoLote, alterados.size()));
+            Map<String, List<ProblemaIdeia>> atuais = problemaIdeiaRepository.findByProblemaIdIn(bloco).stream()
+                    .collect(Collectors.groupingBy(ProblemaIdeia::getProblemaId));
+            List<ProblemaIdeia> novos = new ArrayList<>();
+            for (String problemaId : bloco) {
+                List<ProblemaIdeia> lista = new ArrayList<>(atuais.getOrDefault(problemaId, List.of()));
+                lista.addAll(entram.get(problemaId));
+                lista.sort(Comparator.comparingDouble(ProblemaIdeia::getScore).reversed());
+
+                List<ProblemaIdeia> mantidos = lista.subList(0, Math.min(maxIdeias, lista.size()));
+                List<String> descartados = lista.subList(mantidos.size(), lista.size()).stream()
+                        .filter(vinculo -> !vinculo.isNew())
+                        .map(ProblemaIdeia::getIdeiaId)
+                        .toList();
+                if (!descartados.isEmpty()) {
+                    problemaIdeiaRepository.deletePares(problemaId, descartados);
+                }
+                mantidos.stream().filter(ProblemaIdeia::isNew).forEach(novos::add);
+            }
+            problemaIdeiaRepository.saveAll(novos);
+        }
+        return entram.keySet();
+    }
+
+    private List<ProblemaIdeia> pontuar(ProblemaTermos problema, List<TermosIdeia> ideias) {
+        Set<String> termos = termosProblema(problema);
+        SelecaoTopK<ProblemaIdeia> selecao = new SelecaoTopK<>(maxIdeias, ProblemaIdeia::getScore);
+        for (TermosIdeia ideia : ideias) {
+            double score = calculadora.calculateMatchingScore(termos, problema.categoria(), ideia);
+            if (score > CalculadoraSimilaridade.LIMIAR_MATCHING) {
+                selecao.oferecer(new ProblemaIdeia(problema.id(), ideia.getIdeia().getId(), score));
+            }
+        }
+        return selecao.pagina(0);
+    }
+
+    private Set<String> termosProblema(ProblemaTermos problema) {
+        Set<String> termos = new HashSet<>();
+        termos.addAll(Tokenizador.conjunto(problema.problemaDescricao()));
+        termos.addAll(Tokenizador.conjunto(problema.processo()));
+        termos.addAll(Tokenizador.conjunto(problema.tipoSolucaoEsperada()));
+        return termos;
+    }
+
+    private void atualizarScores(Collection<String> problemaIds) {
+        if (problemaIds.isEmpty()) {
+            return;
+        }
+        problemaRepository.updateMatchingScoresPeloMatching(problemaIds);
+
+        // O UPDATE não passa pela entidade: a versão gravada é lida para invalidar o cache
+        List<VersaoEntidade> versoes = problemaRepository.findVersoes(problemaIds);
+        aposCommit(() -> versoes.forEach(versao -> cacheProblemasJson.invalidar(versao.id(), versao.versao())));
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
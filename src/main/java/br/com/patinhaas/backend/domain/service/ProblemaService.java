@@ -2,13 +2,33 @@ package br.com.patinhaas.backend.domain.service;
 
 import br.com.patinhaas.backend.domain.exception.ProblemaNotFoundException;
 import br.com.patinhaas.backend.domain.model.Problema;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
 import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
 import br.com.patinhaas.backend.domain.repository.ProblemaRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo;
+import br.com.patinhaas.backend.domain.repository.projecao.VersaoEntidade;
+import br.com.patinhaas.backend.domain.repository.projecao.ProblemaResumo;
+import br.com.patinhaas.backend.domain.repository.spec.ProblemaSpecs;
+import br.com.patinhaas.backend.domain.service.paginacao.CursorKeyset;
+import br.com.patinhaas.backend.domain.service.paginacao.PaginaKeyset;
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProblemaService {
@@ -16,6 +36,22 @@ public class ProblemaService {
     @Autowired
     private ProblemaRepository problemaRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    @Qualifier("cacheProblemasJson")
+    private CacheRespostaJson cacheJson;
+
+    @Autowired
+    private MatchingService matchingService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ResumoDiarioService resumoDiarioService;
+
     public Problema findById(String id) {
         return problemaRepository.findById(id)
                 .orElseThrow(() -> new ProblemaNotFoundException(id));
@@ -25,47 +61,167 @@ public class ProblemaService {
         return problemaRepository.findAll();
     }
 
+    /**
+     * Página keyset ordenada da mais recente para a mais antiga. O custo não cresce com a
+     * profundidade da página, ao contrário de OFFSET.
+     * @param cursor token devolvido pela página anterior, ou nulo para a primeira página
+     * @param tamanho quantidade de itens (limitado a {@value PaginaKeyset#TAMANHO_MAXIMO})
+     */
+    public PaginaKeyset<ProblemaResumo> findPagina(String cursor, int tamanho) {
+        int limite = PaginaKeyset.normalizarTamanho(tamanho);
+        // Uma linha a mais indica se existe próxima página
+        Pageable pageable = PageRequest.of(0, limite + 1);
+
+        List<ProblemaResumo> linhas;
+        if (cursor == null || cursor.isBlank()) {
+            linhas = problemaRepository.findPrimeiraPagina(pageable);
+        } else {
+            CursorKeyset posicao = CursorKeyset.decodificar(cursor);
+            linhas = problemaRepository.findPaginaApos(posicao.dataCriacao(), posicao.id(), pageable);
+        }
+        return PaginaKeyset.of(linhas, limite, ProblemaResumo::dataCriacao, ProblemaResumo::id);
+    }
+
+    /**
+     * Percorre todos os problemas sem carregá-los de uma vez: as linhas chegam por um cursor do
+     * banco e cada entidade é desanexada do contexto de persistência depois de consumida,
+     * então a memória não cresce com o tamanho da tabela.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(Consumer<Problema> consumidor) {
+        try (Stream<Problema> problemas = problemaRepository.streamTodos()) {
+            problemas.forEach(problema -> {
+                consumidor.accept(problema);
+                entityManager.detach(problema);
+            });
+        }
+    }
+
     public List<Problema> findByStatus(Status status) {
         return problemaRepository.findByStatus(status);
     }
 
+    public List<ProblemaResumo> findResumosByStatus(Status status) {
+        return problemaRepository.findResumosByStatus(status);
+    }
+
     public List<Problema> findByEmail(String email) {
         return problemaRepository.findByEmail(email);
     }
 
+    /**
+     * Filtra problemas em uma única consulta paginada. Filtros nulos são ignorados e os
+     * intervalos de impacto aceitam apenas um dos limites.
+     */
+    public Page<Problema> findComFiltros(Status status, CategoriaEnum categoria, String unidade,
+                                         BigDecimal impactoFinanceiroMin, BigDecimal impactoFinanceiroMax,
+                                         Integer impactoPessoasMin, Integer impactoPessoasMax,
+                                         Pageable pageable) {
+        return problemaRepository.findAll(ProblemaSpecs.comFiltros(status, categoria, unidade,
+                impactoFinanceiroMin, impactoFinanceiroMax, impactoPessoasMin, impactoPessoasMax), pageable);
+    }
+
     @Transactional
     public Problema save(Problema problema) {
         Problema saved = problemaRepository.save(problema);
-        // Adicione um log aqui para debug
-        System.out.println("Problema salvo com ID: " + saved.getId());
+        resumoDiarioService.registrarCriacao(TipoRegistro.PROBLEMA, List.of(saved.getId()));
+        aposCommit(() -> {
+            dashboardService.invalidar();
+            matchingService.recalcularProblemas(List.of(saved.getId()));
+        });
         return saved;
     }
+
+    /**
+     * Grava um bloco de problemas novos em uma única transação; os INSERTs são agrupados pelo
+     * batching JDBC.
+     */
+    @Transactional
+    public List<Problema> saveAll(List<Problema> problemas) {
+        List<Problema> salvos = problemaRepository.saveAll(problemas);
+        resumoDiarioService.registrarCriacao(TipoRegistro.PROBLEMA, salvos.stream().map(Problema::getId).toList());
+        aposCommit(() -> {
+            dashboardService.invalidar();
+            matchingService.recalcularProblemas(salvos.stream().map(Problema::getId).toList());
+        });
+        return salvos;
+    }
+
     @Transactional
     public Problema update(Problema problema) {
-        return problemaRepository.save(problema);
+        List<ChaveResumo> antes = resumoDiarioService.chaves(TipoRegistro.PROBLEMA, List.of(problema.getId()));
+        Problema saved = problemaRepository.save(problema);
+        resumoDiarioService.registrarAlteracao(TipoRegistro.PROBLEMA, antes, List.of(saved.getId()));
+        aposCommit(() -> {
+            cacheJson.invalidar(saved.getId(), saved.getVersao());
+            dashboardService.invalidar();
+            matchingService.recalcularProblemas(List.of(saved.getId()));
+        });
+        return saved;
     }
 
     @Transactional
     public void updateStatus(String id, Status status) {
-        Problema problema = findById(id);
-        problema.setStatus(status);
-        problemaRepository.save(problema);
+        List<ChaveResumo> antes = resumoDiarioService.chaves(TipoRegistro.PROBLEMA, List.of(id));
+        if (problemaRepository.updateStatus(id, status) == 0) {
+            throw new ProblemaNotFoundException(id);
+        }
+        resumoDiarioService.registrarAlteracao(TipoRegistro.PROBLEMA, antes, List.of(id));
+        invalidarAposCommit(id);
     }
 
     @Transactional
     public void delete(String id) {
         Problema problema = findById(id);
+        List<ChaveResumo> linhasResumo = resumoDiarioService.chaves(TipoRegistro.PROBLEMA, List.of(id));
         problemaRepository.delete(problema);
+        resumoDiarioService.registrarExclusao(TipoRegistro.PROBLEMA, linhasResumo);
+        aposCommit(() -> {
+            cacheJson.invalidar(id, CacheRespostaJson.VERSAO_EXCLUIDA);
+            dashboardService.invalidar();
+        });
     }
 
+    /**
+     * Grava um matching score manual. Ele vale até o próximo recálculo do matching do problema
+     * (escrita no problema, em uma ideia vinculada ou carga completa), que o substitui pelo
+     * maior score em problemas_ideias.
+     */
     @Transactional
     public void updateMatchingScore(String id, Double score) {
-        Problema problema = findById(id);
-        problema.setMatchingScore(score);
-        problemaRepository.save(problema);
+        if (problemaRepository.updateMatchingScore(id, score) == 0) {
+            throw new ProblemaNotFoundException(id);
+        }
+        invalidarAposCommit(id);
     }
 
     public List<Problema> findByMatchingScoreOrderedDesc() {
         return problemaRepository.findByMatchingScoreNotNullOrderByMatchingScoreDesc();
     }
+
+    // UPDATEs em massa não passam pela entidade: a versão gravada é lida para invalidar o cache
+    private void invalidarAposCommit(String id) {
+        List<VersaoEntidade> versoes = problemaRepository.findVersoes(List.of(id));
+        aposCommit(() -> {
+            versoes.forEach(versao -> cacheJson.invalidar(versao.id(), versao.versao()));
+            dashboardService.invalidar();
+        });
+    }
+
+    /**
+     * Executa a ação somente após o commit da transação corrente, para que o cache nunca
+     * reflita uma escrita que sofreu rollback. A versão da entidade só é incrementada no flush.
+     */
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,94 @@
+package br.com.patinhaas.backend.domain.service;
+
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.repository.ProblemaRepository;
+import br.com.patinhaas.backend.domain.repository.ResumoDiarioRepository;
+import br.com.patinhaas.backend.domain.repository.projecao.ChaveResumo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Mantém a tabela resumo_diario dentro da transação de escrita de IdeiaService e
+ * ProblemaService. Cada escrita lê a linha (dia, categoria, status) dos registros afetados
+ * antes e depois de gravar e aplica a diferença: -1 na linha anterior e +1 na nova, com um
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} que trava só as linhas tocadas. Linhas cujo total
+ * chega a zero permanecem e não alteram as somas dos gráficos.
+ */
+@Service
+public class ResumoDiarioService {
+
+    // Agrupa os registros da mesma linha (o id não entra) e fixa a ordem das atualizações,
+    // para duas transações travarem as linhas na mesma sequência
+    private static final Comparator<ChaveResumo> ORDEM_LINHAS = Comparator
+            .comparing(ChaveResumo::dia)
+            .thenComparing(chave -> Objects.toString(chave.categoria(), ""))
+            .thenComparing(chave -> Objects.toString(chave.status(), ""));
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    @Autowired
+    private ProblemaRepository problemaRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Linhas em que os registros estão contados agora. Chamado antes da escrita, sem flush.
+     */
+    public List<ChaveResumo> chaves(TipoRegistro tipo, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return tipo == TipoRegistro.IDEIA ? ideiaRepository.findChavesResumo(ids) : problemaRepository.findChavesResumo(ids);
+    }
+
+    @Transactional
+    public void registrarCriacao(TipoRegistro tipo, Collection<String> ids) {
+        registrarAlteracao(tipo, List.of(), ids);
+    }
+
+    /**
+     * Move os registros das linhas lidas antes da escrita para as linhas atuais.
+     */
+    @Transactional
+    public void registrarAlteracao(TipoRegistro tipo, List<ChaveResumo> antes, Collection<String> ids) {
+        // A leitura das linhas atuais precisa enxergar as escritas pendentes da transação
+        entityManager.flush();
+        aplicar(tipo, antes, chaves(tipo, ids));
+    }
+
+    @Transactional
+    public void registrarExclusao(TipoRegistro tipo, List<ChaveResumo> antes) {
+        aplicar(tipo, antes, List.of());
+    }
+
+    private void aplicar(TipoRegistro tipo, List<ChaveResumo> antes, List<ChaveResumo> depois) {
+        Map<ChaveResumo, Integer> deltas = new TreeMap<>(ORDEM_LINHAS);
+        antes.forEach(chave -> deltas.merge(chave, -1, Integer::sum));
+        depois.forEach(chave -> deltas.merge(chave, 1, Integer::sum));
+
+        deltas.forEach((chave, delta) -> {
+            if (delta != 0) {
+                resumoDiarioRepository.somar(tipo.name(), chave.dia(),
+                        chave.categoria() == null ? null : chave.categoria().name(),
+                        chave.status() == null ? null : chave.status().name(),
+                        delta);
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.patinhaas.backend.domain.service.avaliacao;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+
+/**
+ * Avaliador de ideias por IA usado pela {@link FilaAvaliacaoIA}. A implementação ativa é
+ * escolhida por {@code patinhas.avaliacao-ia.avaliador}.
+ * <p>
+ * Falhas devem ser sinalizadas com exceção não verificada: a fila tenta de novo com backoff.
+ */
+public interface AvaliadorIA {
+
+    /**
+     * @return texto da avaliação, gravado em {@code avaliacaoIA}
+     */
+    String avaliar(Ideia ideia);
+}
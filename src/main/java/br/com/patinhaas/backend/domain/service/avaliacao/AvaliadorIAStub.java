@@ -0,0 +1,72 @@
+package br.com.patinhaas.backend.domain.service.avaliacao;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Avaliador local, sem chamadas externas: pontua a ideia pelo preenchimento do formulário.
+ * Permite rodar a fila offline; a latência de um avaliador real pode ser simulada por
+ * {@code patinhas.avaliacao-ia.stub.latencia-ms}.
+ */
+@Component
+@ConditionalOnProperty(name = "patinhas.avaliacao-ia.avaliador", havingValue = "stub", matchIfMissing = true)
+public class AvaliadorIAStub implements AvaliadorIA {
+
+    // Tamanho mínimo para um campo descritivo ser considerado bem detalhado
+    private static final int TAMANHO_DETALHADO = 100;
+
+    @Value("${patinhas.avaliacao-ia.stub.latencia-ms:0}")
+    private long latenciaMs;
+
+    @Override
+    public String avaliar(Ideia ideia) {
+        simularLatencia();
+
+        List<String> pontosFortes = new ArrayList<>();
+        List<String> melhorias = new ArrayList<>();
+
+        avaliarCampo(ideia.getDesafioProblema(), "desafio", pontosFortes, melhorias);
+        avaliarCampo(ideia.getSolucaoDescricao(), "solução", pontosFortes, melhorias);
+        avaliarCampo(ideia.getMetodologiaExecucao(), "metodologia", pontosFortes, melhorias);
+        avaliarCampo(ideia.getHipotesePrincipal(), "hipótese", pontosFortes, melhorias);
+        avaliarCampo(ideia.getBaselineAtual(), "baseline", pontosFortes, melhorias);
+        avaliarCampo(ideia.getKpisSmart(), "KPIs", pontosFortes, melhorias);
+
+        int nota = Math.round(10f * pontosFortes.size() / (pontosFortes.size() + melhorias.size()));
+
+        StringBuilder avaliacao = new StringBuilder("Avaliação automática (stub): nota ")
+                .append(nota).append("/10.");
+        if (!pontosFortes.isEmpty()) {
+            avaliacao.append(" Bem detalhado: ").append(String.join(", ", pontosFortes)).append('.');
+        }
+        if (!melhorias.isEmpty()) {
+            avaliacao.append(" Detalhar melhor: ").append(String.join(", ", melhorias)).append('.');
+        }
+        return avaliacao.toString();
+    }
+
+    private void avaliarCampo(String valor, String nome, List<String> pontosFortes, List<String> melhorias) {
+        if (valor != null && valor.trim().length() >= TAMANHO_DETALHADO) {
+            pontosFortes.add(nome);
+        } else {
+            melhorias.add(nome);
+        }
+    }
+
+    private void simularLatencia() {
+        if (latenciaMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latenciaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Avaliação interrompida", e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package br.com.patinhaas.backend.domain.service.avaliacao;
+
+import br.com.patinhaas.backend.domain.exception.FilaAvaliacaoCheiaException;
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.repository.IdeiaRepository;
+import br.com.patinhaas.backend.domain.service.IdeiaService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fila de avaliação das ideias pelo {@link AvaliadorIA}, fora da requisição de escrita.
+ * <p>
+ * A fila é limitada por {@code patinhas.avaliacao-ia.capacidade}: quando cheia, novas ideias
+ * são recusadas em vez de acumular memória. Cada worker retira um lote, avalia as ideias e
+ * grava os resultados em uma única transação. Falhas voltam para a fila com backoff
+ * exponencial até {@code patinhas.avaliacao-ia.max-tentativas}.
+ * <p>
+ * Ideias cujo texto mudou durante a avaliação são marcadas por {@link #reavaliar} e voltam para
+ * a fila assim que o resultado desatualizado é gravado.
+ */
+@Service
+public class FilaAvaliacaoIA {
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    // IdeiaService enfileira nesta fila; a injeção tardia evita a dependência circular
+    @Lazy
+    @Autowired
+    private IdeiaService ideiaService;
+
+    @Autowired
+    private AvaliadorIA avaliador;
+
+    @Autowired
+    @Qualifier("avaliacaoIAExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${patinhas.avaliacao-ia.habilitada:true}")
+    private boolean habilitada;
+
+    @Value("${patinhas.avaliacao-ia.capacidade:1000}")
+    private int capacidade;
+
+    @Value("${patinhas.avaliacao-ia.tamanho-lote:20}")
+    private int tamanhoLote;
+
+    @Value("${patinhas.avaliacao-ia.max-tentativas:5}")
+    private int maxTentativas;
+
+    @Value("${patinhas.avaliacao-ia.backoff-inicial-ms:1000}")
+    private long backoffInicialMs;
+
+    @Value("${patinhas.avaliacao-ia.backoff-maximo-ms:60000}")
+    private long backoffMaximoMs;
+
+    // Itens aguardando, inclusive os em espera de nova tentativa
+    private final DelayQueue<ItemAvaliacao> fila = new DelayQueue<>();
+
+    // Ideias na fila ou em avaliação: uma ideia nunca é enfileirada duas vezes
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+
+    // Vagas reservadas em pendentes; a reserva por CAS impede que escritas concorrentes
+    // passem juntas da capacidade
+    private final AtomicInteger ocupadas = new AtomicInteger();
+
+    // Ideias alteradas depois que o worker leu o texto: a avaliação em curso está desatualizada
+    private final Set<String> desatualizadas = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong avaliadas = new AtomicLong();
+
+    private final AtomicLong retentativas = new AtomicLong();
+
+    private final AtomicLong falhas = new AtomicLong();
+
+    private final AtomicLong recusadas = new AtomicLong();
+
+    private volatile String ultimoErro;
+
+    private volatile boolean ativa;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!habilitada) {
+            return;
+        }
+        ativa = true;
+        for (int i = 0; i < executor.getCorePoolSize(); i++) {
+            executor.execute(this::processar);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        ativa = false;
+    }
+
+    /**
+     * Enfileira ideias para avaliação sem bloquear. Ideias já pendentes são ignoradas.
+     * @return quantidade de ideias aceitas; as demais foram recusadas por falta de espaço
+     */
+    public int enfileirar(Collection<String> ideiaIds) {
+        if (!habilitada) {
+            return 0;
+        }
+        int aceitas = 0;
+        for (String ideiaId : ideiaIds) {
+            if (pendentes.contains(ideiaId)) {
+                continue;
+            }
+            if (!reservarVaga()) {
+                recusadas.incrementAndGet();
+                continue;
+            }
+            if (pendentes.add(ideiaId)) {
+                fila.put(new ItemAvaliacao(ideiaId, 1, System.nanoTime()));
+                aceitas++;
+            } else {
+                ocupadas.decrementAndGet();
+            }
+        }
+        return aceitas;
+    }
+
+    /**
+     * Enfileira ideias cujo texto avaliado mudou, mesmo que já tenham avaliação. Uma ideia já
+     * em avaliação é avaliada de novo depois que o resultado atual for gravado.
+     */
+    public void reavaliar(Collection<String> ideiaIds) {
+        if (!habilitada) {
+            return;
+        }
+        for (String ideiaId : ideiaIds) {
+            // A marca vem antes, para não se perder se o worker liberar a ideia no meio do caminho
+            desatualizadas.add(ideiaId);
+            if (enfileirar(List.of(ideiaId)) == 0 && !pendentes.contains(ideiaId)) {
+                desatualizadas.remove(ideiaId);
+            }
+        }
+    }
+
+    /**
+     * Enfileira uma avaliação pedida explicitamente, sinalizando ao cliente quando a fila
+     * está cheia para que ele tente de novo mais tarde.
+     */
+    public void solicitar(String ideiaId) {
+        if (!habilitada || (enfileirar(List.of(ideiaId)) == 0 && !pendentes.contains(ideiaId))) {
+            throw new FilaAvaliacaoCheiaException(capacidade);
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(habilitada, capacidade, fila.size(), Math.max(0, pendentes.size() - fila.size()),
+                avaliadas.get(), retentativas.get(), falhas.get(), recusadas.get(), ultimoErro);
+    }
+
+    private void processar() {
+        while (ativa) {
+            List<ItemAvaliacao> lote = new ArrayList<>(tamanhoLote);
+            try {
+                lote.add(fila.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // drainTo só retira itens cujo backoff já expirou
+            fila.drainTo(lote, tamanhoLote - 1);
+            try {
+                avaliarLote(lote);
+            } catch (RuntimeException e) {
+                // Falha ao ler as ideias: o lote inteiro volta para a fila
+                lote.forEach(item -> tentarDeNovo(item, e));
+            }
+        }
+    }
+
+    private void avaliarLote(List<ItemAvaliacao> lote) {
+        // O texto lido a seguir já inclui as alterações que marcaram essas ideias
+        lote.forEach(item -> desatualizadas.remove(item.ideiaId()));
+        Map<String, Ideia> ideias = ideiaRepository.findAllById(lote.stream().map(ItemAvaliacao::ideiaId).toList())
+                .stream()
+                .collect(Collectors.toMap(Ideia::getId, Function.identity()));
+
+        Map<String, String> resultados = new LinkedHashMap<>();
+        for (ItemAvaliacao item : lote) {
+            Ideia ideia = ideias.get(item.ideiaId());
+            if (ideia == null) {
+                // Excluída enquanto aguardava
+                liberar(item.ideiaId());
+                continue;
+            }
+            try {
+                resultados.put(item.ideiaId(), avaliador.avaliar(ideia));
+            } catch (RuntimeException e) {
+                tentarDeNovo(item, e);
+            }
+        }
+        if (resultados.isEmpty()) {
+            return;
+        }
+
+        try {
+            avaliadas.addAndGet(ideiaService.updateAvaliacoesIA(resultados));
+            resultados.keySet().forEach(this::liberar);
+        } catch (RuntimeException e) {
+            lote.stream()
+                    .filter(item -> resultados.containsKey(item.ideiaId()))
+                    .forEach(item -> tentarDeNovo(item, e));
+        }
+    }
+
+    private void tentarDeNovo(ItemAvaliacao item, RuntimeException erro) {
+        ultimoErro = item.ideiaId() + ": " + erro.getMessage();
+        if (item.tentativa() >= maxTentativas) {
+            falhas.incrementAndGet();
+            liberar(item.ideiaId());
+            return;
+        }
+        retentativas.incrementAndGet();
+        long espera = Math.min(backoffMaximoMs, backoffInicialMs << Math.min(item.tentativa() - 1, 30));
+        fila.put(new ItemAvaliacao(item.ideiaId(), item.tentativa() + 1,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(espera)));
+    }
+
+    private boolean reservarVaga() {
+        int atual;
+        do {
+            atual = ocupadas.get();
+            if (atual >= capacidade) {
+                return false;
+            }
+        } while (!ocupadas.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    // Retira a ideia das pendentes; se o texto mudou durante a avaliação, ela volta para a fila
+    private void liberar(String ideiaId) {
+        if (pendentes.remove(ideiaId)) {
+            ocupadas.decrementAndGet();
+        }
+        if (desatualizadas.remove(ideiaId)) {
+            enfileirar(List.of(ideiaId));
+        }
+    }
+
+    private record ItemAvaliacao(String ideiaId, int tentativa, long disponivelEm) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(disponivelEm - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed outro) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), outro.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * @param aguardando itens na fila, inclusive os em espera de nova tentativa
+     * @param emAvaliacao itens retirados pelos workers e ainda não gravados
+     */
+    public record Estatisticas(boolean habilitada, int capacidade, int aguardando, int emAvaliacao,
+                               long avaliadas, long retentativas, long falhas, long recusadas,
+                               String ultimoErro) {
+    }
+}
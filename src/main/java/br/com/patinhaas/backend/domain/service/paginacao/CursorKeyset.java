@@ -0,0 +1,42 @@
+package br.com.patinhaas.backend.domain.service.paginacao;
+
+import br.com.patinhaas.backend.domain.exception.CursorInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Posição da última linha de uma página ordenada por (data_criacao DESC, id DESC).
+ * O token exposto na API é opaco: Base64 URL de {@code dataCriacao|id}. A coluna data_criacao
+ * é NOT NULL, então a posição sempre tem data.
+ */
+public record CursorKeyset(OffsetDateTime dataCriacao, String id) {
+
+    private static final String SEPARADOR = "|";
+
+    public CursorKeyset {
+        Objects.requireNonNull(dataCriacao, "dataCriacao");
+        Objects.requireNonNull(id, "id");
+    }
+
+    public String codificar() {
+        String valor = dataCriacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CursorKeyset decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = valor.indexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new CursorInvalidoException(token);
+            }
+            return new CursorKeyset(OffsetDateTime.parse(valor.substring(0, separador)), valor.substring(separador + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorInvalidoException(token);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.patinhaas.backend.domain.service.paginacao;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma consulta keyset. {@code proximoCursor} é nulo na última página.
+ */
+public record PaginaKeyset<T>(List<T> conteudo, String proximoCursor) {
+
+    public static final int TAMANHO_PADRAO = 20;
+
+    public static final int TAMANHO_MAXIMO = 100;
+
+    public static int normalizarTamanho(int tamanho) {
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO));
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code tamanho + 1} linhas:
+     * a linha extra só indica que existe uma próxima página.
+     */
+    public static <T> PaginaKeyset<T> of(List<T> linhas, int tamanho,
+                                         Function<T, OffsetDateTime> dataCriacao, Function<T, String> id) {
+        if (linhas.size() <= tamanho) {
+            return new PaginaKeyset<>(linhas, null);
+        }
+        List<T> conteudo = linhas.subList(0, tamanho);
+        T ultima = conteudo.get(tamanho - 1);
+        return new PaginaKeyset<>(conteudo, new CursorKeyset(dataCriacao.apply(ultima), id.apply(ultima)).codificar());
+    }
+
+    public <R> PaginaKeyset<R> map(Function<T, R> mapper) {
+        return new PaginaKeyset<>(conteudo.stream().map(mapper).toList(), proximoCursor);
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma única passada de pontuação: o score final e a similaridade de cada campo,
+ * guardada para que os critérios de match só sejam montados se o resultado for devolvido.
+ */
+public final class AvaliacaoSimilaridade {
+
+    private final Ideia ideia;
+    private final double score;
+    private final double[] similaridadeCampos;
+    private final CategoriaEnum categoriaComum;
+    private final boolean porTexto;
+
+    AvaliacaoSimilaridade(Ideia ideia, double score, double[] similaridadeCampos,
+                          CategoriaEnum categoriaComum, boolean porTexto) {
+        this.ideia = ideia;
+        this.score = score;
+        this.similaridadeCampos = similaridadeCampos;
+        this.categoriaComum = categoriaComum;
+        this.porTexto = porTexto;
+    }
+
+    public Ideia getIdeia() {
+        return ideia;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public double getSimilaridade(CampoTexto campo) {
+        return similaridadeCampos[campo.ordinal()];
+    }
+
+    public List<String> criterios() {
+        return porTexto ? criteriosTexto() : criteriosPar();
+    }
+
+    private List<String> criteriosPar() {
+        List<String> criterios = new ArrayList<>();
+
+        if (categoriaComum != null) {
+            criterios.add("Mesma categoria: " + categoriaComum);
+        }
+
+        double similarity = getSimilaridade(CampoTexto.DESAFIO_PROBLEMA);
+        if (similarity > CalculadoraSimilaridade.LIMIAR_SIMILARIDADE) {
+            criterios.add("Problemas similares (" + Math.round(similarity * 100) + "% match)");
+        }
+
+        similarity = getSimilaridade(CampoTexto.SOLUCAO_DESCRICAO);
+        if (similarity > CalculadoraSimilaridade.LIMIAR_SIMILARIDADE) {
+            criterios.add("Soluções similares (" + Math.round(similarity * 100) + "% match)");
+        }
+
+        return criterios;
+    }
+
+    private List<String> criteriosTexto() {
+        List<String> criterios = new ArrayList<>();
+
+        double similarity = getSimilaridade(CampoTexto.DESAFIO_PROBLEMA);
+        if (similarity > CalculadoraSimilaridade.LIMIAR_TEXTO) {
+            criterios.add("Match com problema (" + Math.round(similarity * 100) + "%)");
+        }
+
+        similarity = getSimilaridade(CampoTexto.SOLUCAO_DESCRICAO);
+        if (similarity > CalculadoraSimilaridade.LIMIAR_TEXTO) {
+            criterios.add("Match com solução (" + Math.round(similarity * 100) + "%)");
+        }
+
+        similarity = getSimilaridade(CampoTexto.NOME_EXPERIMENTO);
+        if (similarity > CalculadoraSimilaridade.LIMIAR_TEXTO) {
+            criterios.add("Match com nome (" + Math.round(similarity * 100) + "%)");
+        }
+
+        return criterios;
+    }
+}
@@ -0,0 +1,206 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.repository.projecao.IdeiaTermos;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Regras de similaridade entre ideias (Jaccard ponderado por campo) usadas pelas buscas
+ * e pela vizinhança materializada.
+ * <p>
+ * Cada par é pontuado uma única vez; a similaridade por campo fica na
+ * {@link AvaliacaoSimilaridade} para explicar o resultado sem recalcular nada. Acima de
+ * {@code patinhas.similaridade.paralelo.minimo} candidatos a varredura usa o ForkJoinPool comum.
+ */
+@Component
+public class CalculadoraSimilaridade {
+
+    // Score mínimo para duas ideias serem consideradas semelhantes
+    public static final double LIMIAR_SIMILARIDADE = 0.3;
+
+    // Threshold menor para busca por texto
+    public static final double LIMIAR_TEXTO = 0.2;
+
+    // Score mínimo para uma ideia ser vinculada a um problema pelo matching
+    public static final double LIMIAR_MATCHING = 0.3;
+
+    // Parcela do score de matching dada pela categoria em comum; o restante vem do texto
+    private static final double PESO_CATEGORIA_MATCHING = 0.3;
+
+    private static final int NUM_CAMPOS = CampoTexto.values().length;
+
+    // Campos comparados entre duas ideias; a metodologia só entra na busca por texto
+    private static final List<CampoTexto> CAMPOS_PAR = List.of(CampoTexto.DESAFIO_PROBLEMA,
+            CampoTexto.SOLUCAO_DESCRICAO, CampoTexto.NOME_EXPERIMENTO);
+
+    @Value("${patinhas.similaridade.paralelo.minimo:2000}")
+    private int minimoParalelo;
+
+    public List<TermosIdeia> termos(List<Ideia> ideias) {
+        return stream(ideias).map(TermosIdeia::de).toList();
+    }
+
+    public List<TermosIdeia> termosDe(List<IdeiaTermos> projecoes) {
+        return stream(projecoes).map(projecao -> TermosIdeia.de(projecao.toIdeia())).toList();
+    }
+
+    /**
+     * Avalia a ideia base contra cada candidato (exceto ela mesma) e mantém só os semelhantes.
+     */
+    public List<AvaliacaoSimilaridade> avaliarContra(TermosIdeia base, List<TermosIdeia> candidatos) {
+        String baseId = base.getIdeia().getId();
+        return stream(candidatos)
+                .filter(candidato -> !candidato.getIdeia().getId().equals(baseId))
+                .map(candidato -> avaliar(base, candidato))
+                .filter(avaliacao -> avaliacao.getScore() > LIMIAR_SIMILARIDADE)
+                .toList();
+    }
+
+    /**
+     * Avalia os termos de um texto livre contra cada candidato e mantém só os semelhantes.
+     */
+    public List<AvaliacaoSimilaridade> avaliarTexto(Set<String> termosTexto, List<TermosIdeia> candidatos) {
+        return stream(candidatos)
+                .map(candidato -> avaliarTexto(termosTexto, candidato))
+                .filter(avaliacao -> avaliacao.getScore() > LIMIAR_TEXTO)
+                .toList();
+    }
+
+    /**
+     * Score da ideia {@code candidata} em relação a {@code base}, com a similaridade de cada campo.
+     */
+    public AvaliacaoSimilaridade avaliar(TermosIdeia base, TermosIdeia candidata) {
+        double[] similaridades = new double[NUM_CAMPOS];
+        for (CampoTexto campo : CAMPOS_PAR) {
+            similaridades[campo.ordinal()] = calculateTextSimilarity(base.get(campo), candidata.get(campo));
+        }
+        return pontuarPar(base.getIdeia().getCategoria(), candidata.getIdeia(), similaridades);
+    }
+
+    /**
+     * Como {@link #avaliarContra(TermosIdeia, List)} contra todas as ideias do índice, sem
+     * carregá-las: as interseções de cada campo vêm das listas de postings e só as ideias com
+     * algum termo ou a categoria em comum com a base são visitadas. As demais teriam score zero.
+     * As ideias das avaliações trazem apenas id e categoria.
+     */
+    public List<AvaliacaoSimilaridade> avaliarContra(TermosIdeia base, IndiceInvertidoIdeias indice) {
+        List<AvaliacaoSimilaridade> avaliacoes = new ArrayList<>();
+        indice.visitarCandidatos(base, CAMPOS_PAR, (ideiaId, categoria, interseccao, distintos) -> {
+            double[] similaridades = new double[NUM_CAMPOS];
+            for (CampoTexto campo : CAMPOS_PAR) {
+                int f = campo.ordinal();
+                similaridades[f] = jaccard(interseccao[f], base.get(campo).size(), distintos[f]);
+            }
+            Ideia candidata = new Ideia();
+            candidata.setId(ideiaId);
+            candidata.setCategoria(categoria);
+            AvaliacaoSimilaridade avaliacao = pontuarPar(base.getIdeia().getCategoria(), candidata, similaridades);
+            if (avaliacao.getScore() > LIMIAR_SIMILARIDADE) {
+                avaliacoes.add(avaliacao);
+            }
+        });
+        return avaliacoes;
+    }
+
+    public AvaliacaoSimilaridade avaliarTexto(Set<String> termosTexto, TermosIdeia ideia) {
+        double score = 0.0;
+        double[] similaridades = new double[NUM_CAMPOS];
+
+        for (CampoTexto campo : CampoTexto.values()) {
+            double similaridade = calculateTextSimilarity(termosTexto, ideia.get(campo));
+            similaridades[campo.ordinal()] = similaridade;
+            score += similaridade * campo.getPeso();
+        }
+
+        return new AvaliacaoSimilaridade(ideia.getIdeia(), score, similaridades, null, true);
+    }
+
+    /**
+     * Score de adequação de uma ideia a um problema: a similaridade textual ponderada por campo
+     * da ideia com os termos do problema, mais um bônus quando as categorias coincidem.
+     */
+    public double calculateMatchingScore(Set<String> termosProblema, CategoriaEnum categoriaProblema, TermosIdeia ideia) {
+        double score = avaliarTexto(termosProblema, ideia).getScore() * (1 - PESO_CATEGORIA_MATCHING);
+        if (categoriaProblema != null && categoriaProblema.equals(ideia.getIdeia().getCategoria())) {
+            score += PESO_CATEGORIA_MATCHING;
+        }
+        return score;
+    }
+
+    public double calculateSimilarity(TermosIdeia ideia1, TermosIdeia ideia2) {
+        return avaliar(ideia1, ideia2).getScore();
+    }
+
+    public double calculateSimilarityWithText(Set<String> termosTexto, TermosIdeia ideia) {
+        return avaliarTexto(termosTexto, ideia).getScore();
+    }
+
+    /**
+     * Índice de Jaccard entre dois conjuntos de termos já normalizados pelo {@link Tokenizador}.
+     */
+    public double calculateTextSimilarity(Set<String> set1, Set<String> set2) {
+        if (set1.isEmpty() || set2.isEmpty()) {
+            return 0.0;
+        }
+
+        Set<String> menor = set1.size() <= set2.size() ? set1 : set2;
+        Set<String> maior = menor == set1 ? set2 : set1;
+
+        int intersection = 0;
+        for (String termo : menor) {
+            if (maior.contains(termo)) {
+                intersection++;
+            }
+        }
+
+        return jaccard(intersection, set1.size(), set2.size());
+    }
+
+    public String getNivelSimilaridade(double score) {
+        if (score >= 0.7) return "Alta";
+        if (score >= 0.4) return "Média";
+        return "Baixa";
+    }
+
+    private static double jaccard(int intersection, int tamanho1, int tamanho2) {
+        if (tamanho1 == 0 || tamanho2 == 0) {
+            return 0.0;
+        }
+        int union = tamanho1 + tamanho2 - intersection;
+        return union > 0 ? (double) intersection / union : 0.0;
+    }
+
+    private AvaliacaoSimilaridade pontuarPar(CategoriaEnum categoria, Ideia candidata, double[] similaridades) {
+        double score = 0.0;
+
+        // Comparação por categoria (peso maior)
+        CategoriaEnum categoriaComum = categoria != null && categoria.equals(candidata.getCategoria())
+                ? categoria
+                : null;
+        if (categoriaComum != null) {
+            score += 0.4; // Aumentei o peso da categoria
+        }
+
+        // Comparação textual do desafio/problema
+        score += similaridades[CampoTexto.DESAFIO_PROBLEMA.ordinal()] * 0.25;
+
+        // Comparação da solução
+        score += similaridades[CampoTexto.SOLUCAO_DESCRICAO.ordinal()] * 0.25;
+
+        // Comparação do nome do experimento
+        score += similaridades[CampoTexto.NOME_EXPERIMENTO.ordinal()] * 0.1;
+
+        return new AvaliacaoSimilaridade(candidata, score, similaridades, categoriaComum, false);
+    }
+
+    private <T> Stream<T> stream(List<T> lista) {
+        return lista.size() >= minimoParalelo ? lista.parallelStream() : lista.stream();
+    }
+}
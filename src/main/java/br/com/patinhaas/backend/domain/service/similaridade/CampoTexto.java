@@ -0,0 +1,58 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Campos textuais de {@link Ideia} considerados na busca por texto, com o mesmo peso
+ * usado no cálculo de similaridade por texto e a coluna onde seus termos ficam gravados.
+ */
+public enum CampoTexto {
+    DESAFIO_PROBLEMA(Ideia::getDesafioProblema, Ideia::getTermosDesafioProblema,
+            Ideia::setTermosDesafioProblema, 0.4),
+    SOLUCAO_DESCRICAO(Ideia::getSolucaoDescricao, Ideia::getTermosSolucaoDescricao,
+            Ideia::setTermosSolucaoDescricao, 0.3),
+    NOME_EXPERIMENTO(Ideia::getNomeExperimento, Ideia::getTermosNomeExperimento,
+            Ideia::setTermosNomeExperimento, 0.2),
+    METODOLOGIA_EXECUCAO(Ideia::getMetodologiaExecucao, Ideia::getTermosMetodologiaExecucao,
+            Ideia::setTermosMetodologiaExecucao, 0.1);
+
+    private final Function<Ideia, String> extrator;
+    private final Function<Ideia, String> extratorTermos;
+    private final BiConsumer<Ideia, String> gravadorTermos;
+    private final double peso;
+
+    CampoTexto(Function<Ideia, String> extrator, Function<Ideia, String> extratorTermos,
+               BiConsumer<Ideia, String> gravadorTermos, double peso) {
+        this.extrator = extrator;
+        this.extratorTermos = extratorTermos;
+        this.gravadorTermos = gravadorTermos;
+        this.peso = peso;
+    }
+
+    public String texto(Ideia ideia) {
+        return extrator.apply(ideia);
+    }
+
+    /**
+     * Termos já normalizados gravados para o campo, ou {@code null} se a ideia ainda não foi tokenizada.
+     */
+    public String termos(Ideia ideia) {
+        return extratorTermos.apply(ideia);
+    }
+
+    public double getPeso() {
+        return peso;
+    }
+
+    /**
+     * Tokeniza o texto de cada campo e grava o resultado nas colunas de termos da ideia.
+     */
+    public static void tokenizarCampos(Ideia ideia) {
+        for (CampoTexto campo : values()) {
+            campo.gravadorTermos.accept(ideia, Tokenizador.serializar(Tokenizador.tokenizar(campo.texto(ideia))));
+        }
+    }
+}
@@ -0,0 +1,503 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre os termos pré-tokenizados dos campos de {@link CampoTexto}.
+ * <p>
+ * A pontuação é BM25F (frequências ponderadas por campo antes da saturação) e a seleção
+ * dos k melhores usa MaxScore: termos cujo limite superior acumulado não alcança o k-ésimo
+ * score corrente deixam de gerar candidatos e só são consultados por busca binária.
+ * Apenas as listas de postings dos termos da consulta são percorridas. As mesmas listas dão os
+ * candidatos da vizinhança ({@link #visitarCandidatos}), sem ler o acervo do banco.
+ * <p>
+ * Remoções (inclusive as de reindexação) deixam posições vazias em {@code documentos}; quando
+ * elas passam do número de documentos vivos, os ordinais são renumerados em uma compactação.
+ */
+@Component
+public class IndiceInvertidoIdeias {
+
+    private static final int NUM_CAMPOS = CampoTexto.values().length;
+
+    private static final int FIM = Integer.MAX_VALUE;
+
+    // Posições vazias toleradas antes da primeira compactação, para índices pequenos
+    private static final int MINIMO_VAZIOS_COMPACTACAO = 1024;
+
+    @Value("${patinhas.similaridade.bm25.k1:1.2}")
+    private double k1;
+
+    @Value("${patinhas.similaridade.bm25.b:0.75}")
+    private double b;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, ListaPostings> postings = new HashMap<>();
+
+    private final Map<String, Integer> ordinais = new HashMap<>();
+
+    // Posição = ordinal do documento; null quando o documento foi removido
+    private final List<Documento> documentos = new ArrayList<>();
+
+    private final long[] somaComprimentos = new long[NUM_CAMPOS];
+
+    private int totalDocumentos;
+
+    private int vazios;
+
+    public void reconstruir(Collection<Ideia> ideias) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinais.clear();
+            documentos.clear();
+            Arrays.fill(somaComprimentos, 0);
+            totalDocumentos = 0;
+            vazios = 0;
+            ideias.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa a ideia, substituindo a versão anterior caso já esteja no índice.
+     */
+    public void indexar(Ideia ideia) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(ideia.getId());
+            adicionar(ideia);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa um bloco de ideias sob uma única aquisição da trava, substituindo as versões
+     * anteriores. Usado na carga inicial, que percorre o acervo em blocos.
+     */
+    public void indexarTodas(Collection<Ideia> ideias) {
+        lock.writeLock().lock();
+        try {
+            for (Ideia ideia : ideias) {
+                removerDocumento(ideia.getId());
+                adicionar(ideia);
+            }
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(String ideiaId) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(ideiaId);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return totalDocumentos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantas ideias teriam score de texto acima do limiar em
+     * {@link CalculadoraSimilaridade#avaliarTexto(java.util.Set, TermosIdeia)}, sem pontuar BM25F
+     * nem carregar as ideias: as listas de postings dos termos da consulta são percorridas juntas
+     * e a interseção de cada campo sai das frequências, com a união pelos termos distintos do
+     * documento. Ideias sem termo em comum têm score zero e não são visitadas.
+     * @param termosConsulta termos distintos já normalizados pelo {@link Tokenizador}
+     */
+    public int contarAcimaDoLimiar(Set<String> termosConsulta, double limiar) {
+        if (termosConsulta.isEmpty()) {
+            return 0;
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Cursor> lista = new ArrayList<>();
+            for (String termo : termosConsulta) {
+                ListaPostings lp = postings.get(termo);
+                if (lp != null) {
+                    lista.add(new Cursor(lp, 0.0, 0.0));
+                }
+            }
+
+            int total = 0;
+            int[] interseccao = new int[NUM_CAMPOS];
+            while (true) {
+                int doc = FIM;
+                for (Cursor cursor : lista) {
+                    doc = Math.min(doc, cursor.documentoAtual());
+                }
+                if (doc == FIM) {
+                    return total;
+                }
+
+                Arrays.fill(interseccao, 0);
+                for (Cursor cursor : lista) {
+                    if (cursor.documentoAtual() == doc) {
+                        int base = cursor.posicao * NUM_CAMPOS;
+                        for (int f = 0; f < NUM_CAMPOS; f++) {
+                            if (cursor.postings.frequencias[base + f] > 0) {
+                                interseccao[f]++;
+                            }
+                        }
+                        cursor.posicao++;
+                    }
+                }
+
+                // Mesma soma, na mesma ordem, de CalculadoraSimilaridade.avaliarTexto
+                int[] distintos = documentos.get(doc).distintos();
+                double score = 0.0;
+                for (CampoTexto campo : CampoTexto.values()) {
+                    int f = campo.ordinal();
+                    if (distintos[f] > 0) {
+                        int uniao = termosConsulta.size() + distintos[f] - interseccao[f];
+                        score += (double) interseccao[f] / uniao * campo.getPeso();
+                    }
+                }
+                if (score > limiar) {
+                    total++;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Percorre as ideias que podem ser semelhantes à base pelos campos informados: as que têm
+     * algum termo em comum com ela no mesmo campo, com a interseção de cada campo tirada das
+     * listas de postings, e as demais da mesma categoria, com interseção zero. As outras não têm
+     * nada em comum com a base e não são visitadas, nem a própria base. O visitante roda com a
+     * trava de leitura e não deve alterar o índice.
+     */
+    public void visitarCandidatos(TermosIdeia base, Collection<CampoTexto> campos, VisitanteCandidato visitante) {
+        Ideia ideiaBase = base.getIdeia();
+        lock.readLock().lock();
+        try {
+            int ordinalBase = ordinais.getOrDefault(ideiaBase.getId(), -1);
+            Map<Integer, int[]> interseccoes = new HashMap<>();
+            for (CampoTexto campo : campos) {
+                int f = campo.ordinal();
+                for (String termo : base.get(campo)) {
+                    ListaPostings lp = postings.get(termo);
+                    if (lp == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < lp.tamanho; i++) {
+                        if (lp.frequencias[i * NUM_CAMPOS + f] > 0) {
+                            interseccoes.computeIfAbsent(lp.documentos[i], d -> new int[NUM_CAMPOS])[f]++;
+                        }
+                    }
+                }
+            }
+            interseccoes.remove(ordinalBase);
+
+            interseccoes.forEach((ordinal, interseccao) -> {
+                Documento documento = documentos.get(ordinal);
+                visitante.visitar(documento.id(), documento.categoria(), interseccao, documento.distintos());
+            });
+
+            // Só a categoria em comum: varre os documentos, sem ler termos
+            if (ideiaBase.getCategoria() != null) {
+                int[] nenhuma = new int[NUM_CAMPOS];
+                for (int ordinal = 0; ordinal < documentos.size(); ordinal++) {
+                    Documento documento = documentos.get(ordinal);
+                    if (documento != null && ordinal != ordinalBase && documento.categoria() == ideiaBase.getCategoria()
+                            && !interseccoes.containsKey(ordinal)) {
+                        visitante.visitar(documento.id(), documento.categoria(), nenhuma, documento.distintos());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna as k ideias de maior score BM25F para os termos informados, em ordem decrescente.
+     * @param termosConsulta termos já normalizados pelo {@link Tokenizador}
+     * @param k quantidade máxima de resultados
+     */
+    public List<Resultado> buscar(Collection<String> termosConsulta, int k) {
+        if (termosConsulta.isEmpty() || k <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Cursor> lista = new ArrayList<>();
+            for (String termo : new LinkedHashSet<>(termosConsulta)) {
+                ListaPostings lp = postings.get(termo);
+                if (lp != null) {
+                    double idf = Math.log(1 + (totalDocumentos - lp.tamanho + 0.5) / (lp.tamanho + 0.5));
+                    lista.add(new Cursor(lp, idf, idf * (k1 + 1)));
+                }
+            }
+            if (lista.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            // Ordena por limite superior crescente: os primeiros são os candidatos a "não essenciais"
+            lista.sort(Comparator.comparingDouble(c -> c.limiteSuperior));
+            Cursor[] cursores = lista.toArray(new Cursor[0]);
+            double[] limiteAcumulado = new double[cursores.length];
+            double soma = 0;
+            for (int i = 0; i < cursores.length; i++) {
+                soma += cursores[i].limiteSuperior;
+                limiteAcumulado[i] = soma;
+            }
+
+            double[] comprimentoMedio = new double[NUM_CAMPOS];
+            for (int f = 0; f < NUM_CAMPOS; f++) {
+                comprimentoMedio[f] = totalDocumentos > 0 && somaComprimentos[f] > 0
+                        ? (double) somaComprimentos[f] / totalDocumentos
+                        : 1.0;
+            }
+
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(k, Comparator.comparingDouble(Resultado::score));
+            double limiar = 0.0;
+            int primeiroEssencial = 0;
+
+            while (primeiroEssencial < cursores.length) {
+                int doc = FIM;
+                for (int i = primeiroEssencial; i < cursores.length; i++) {
+                    doc = Math.min(doc, cursores[i].documentoAtual());
+                }
+                if (doc == FIM) {
+                    break;
+                }
+
+                double score = 0.0;
+                for (int i = primeiroEssencial; i < cursores.length; i++) {
+                    Cursor cursor = cursores[i];
+                    if (cursor.documentoAtual() == doc) {
+                        score += contribuicao(cursor, doc, comprimentoMedio);
+                        cursor.posicao++;
+                    }
+                }
+
+                for (int i = primeiroEssencial - 1; i >= 0; i--) {
+                    if (score + limiteAcumulado[i] <= limiar) {
+                        break;
+                    }
+                    Cursor cursor = cursores[i];
+                    cursor.avancarAte(doc);
+                    if (cursor.documentoAtual() == doc) {
+                        score += contribuicao(cursor, doc, comprimentoMedio);
+                    }
+                }
+
+                if (melhores.size() < k) {
+                    melhores.add(new Resultado(documentos.get(doc).id(), score));
+                } else if (score > limiar) {
+                    melhores.poll();
+                    melhores.add(new Resultado(documentos.get(doc).id(), score));
+                }
+
+                if (melhores.size() == k) {
+                    limiar = melhores.peek().score();
+                    while (primeiroEssencial < cursores.length && limiteAcumulado[primeiroEssencial] <= limiar) {
+                        primeiroEssencial++;
+                    }
+                }
+            }
+
+            List<Resultado> resultado = new ArrayList<>(melhores);
+            resultado.sort(Comparator.comparingDouble(Resultado::score).reversed());
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double contribuicao(Cursor cursor, int doc, double[] comprimentoMedio) {
+        int[] comprimentos = documentos.get(doc).comprimentos();
+        int base = cursor.posicao * NUM_CAMPOS;
+        double frequenciaPonderada = 0.0;
+
+        for (CampoTexto campo : CampoTexto.values()) {
+            int f = campo.ordinal();
+            int tf = cursor.postings.frequencias[base + f];
+            if (tf > 0) {
+                double normalizacao = 1 - b + b * comprimentos[f] / comprimentoMedio[f];
+                frequenciaPonderada += campo.getPeso() * tf / normalizacao;
+            }
+        }
+
+        return cursor.idf * frequenciaPonderada * (k1 + 1) / (k1 + frequenciaPonderada);
+    }
+
+    private void adicionar(Ideia ideia) {
+        Map<String, int[]> frequencias = new HashMap<>();
+        int[] comprimentos = new int[NUM_CAMPOS];
+        int[] distintos = new int[NUM_CAMPOS];
+
+        for (CampoTexto campo : CampoTexto.values()) {
+            List<String> termos = Tokenizador.desserializar(campo.termos(ideia));
+            comprimentos[campo.ordinal()] = termos.size();
+            for (String termo : termos) {
+                int[] tf = frequencias.computeIfAbsent(termo, t -> new int[NUM_CAMPOS]);
+                if (tf[campo.ordinal()]++ == 0) {
+                    distintos[campo.ordinal()]++;
+                }
+            }
+        }
+
+        // Ordinais são sempre crescentes, então as listas de postings permanecem ordenadas com append
+        int ordinal = documentos.size();
+        documentos.add(new Documento(ideia.getId(), ideia.getCategoria(), comprimentos, distintos,
+                frequencias.keySet().toArray(new String[0])));
+        ordinais.put(ideia.getId(), ordinal);
+        for (int f = 0; f < NUM_CAMPOS; f++) {
+            somaComprimentos[f] += comprimentos[f];
+        }
+        totalDocumentos++;
+
+        frequencias.forEach((termo, tf) -> postings.computeIfAbsent(termo, t -> new ListaPostings()).adicionar(ordinal, tf));
+    }
+
+    private void removerDocumento(String ideiaId) {
+        Integer ordinal = ordinais.remove(ideiaId);
+        if (ordinal == null) {
+            return;
+        }
+
+        Documento documento = documentos.set(ordinal, null);
+        for (String termo : documento.termos()) {
+            ListaPostings lp = postings.get(termo);
+            lp.remover(ordinal);
+            if (lp.tamanho == 0) {
+                postings.remove(termo);
+            }
+        }
+        for (int f = 0; f < NUM_CAMPOS; f++) {
+            somaComprimentos[f] -= documento.comprimentos()[f];
+        }
+        totalDocumentos--;
+        vazios++;
+    }
+
+    /**
+     * Renumera os documentos vivos em ordinais contíguos. A renumeração preserva a ordem, então
+     * as listas de postings continuam ordenadas sem reordenação.
+     */
+    private void compactarSeNecessario() {
+        if (vazios < Math.max(MINIMO_VAZIOS_COMPACTACAO, totalDocumentos)) {
+            return;
+        }
+        int[] novosOrdinais = new int[documentos.size()];
+        List<Documento> vivos = new ArrayList<>(totalDocumentos);
+        for (int ordinal = 0; ordinal < documentos.size(); ordinal++) {
+            Documento documento = documentos.get(ordinal);
+            if (documento != null) {
+                novosOrdinais[ordinal] = vivos.size();
+                ordinais.put(documento.id(), vivos.size());
+                vivos.add(documento);
+            }
+        }
+        for (ListaPostings lp : postings.values()) {
+            for (int i = 0; i < lp.tamanho; i++) {
+                lp.documentos[i] = novosOrdinais[lp.documentos[i]];
+            }
+        }
+        documentos.clear();
+        documentos.addAll(vivos);
+        vazios = 0;
+    }
+
+    public record Resultado(String ideiaId, double score) {
+    }
+
+    /**
+     * Recebe uma ideia candidata com a interseção de termos de cada campo com a base e o número
+     * de termos distintos de cada campo da candidata, indexados por {@link CampoTexto#ordinal()}.
+     */
+    @FunctionalInterface
+    public interface VisitanteCandidato {
+        void visitar(String ideiaId, CategoriaEnum categoria, int[] interseccao, int[] distintos);
+    }
+
+    // comprimentos conta termos repetidos (BM25F); distintos, o tamanho do conjunto de cada campo
+    private record Documento(String id, CategoriaEnum categoria, int[] comprimentos, int[] distintos, String[] termos) {
+    }
+
+    private static final class ListaPostings {
+        private int[] documentos = new int[4];
+        private int[] frequencias = new int[4 * NUM_CAMPOS];
+        private int tamanho;
+
+        void adicionar(int ordinal, int[] tf) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+                frequencias = Arrays.copyOf(frequencias, tamanho * 2 * NUM_CAMPOS);
+            }
+            documentos[tamanho] = ordinal;
+            System.arraycopy(tf, 0, frequencias, tamanho * NUM_CAMPOS, NUM_CAMPOS);
+            tamanho++;
+        }
+
+        void remover(int ordinal) {
+            int pos = Arrays.binarySearch(documentos, 0, tamanho, ordinal);
+            if (pos < 0) {
+                return;
+            }
+            int restantes = tamanho - pos - 1;
+            System.arraycopy(documentos, pos + 1, documentos, pos, restantes);
+            System.arraycopy(frequencias, (pos + 1) * NUM_CAMPOS, frequencias, pos * NUM_CAMPOS, restantes * NUM_CAMPOS);
+            tamanho--;
+        }
+    }
+
+    private static final class Cursor {
+        private final ListaPostings postings;
+        private final double idf;
+        private final double limiteSuperior;
+        private int posicao;
+
+        Cursor(ListaPostings postings, double idf, double limiteSuperior) {
+            this.postings = postings;
+            this.idf = idf;
+            this.limiteSuperior = limiteSuperior;
+        }
+
+        int documentoAtual() {
+            return posicao < postings.tamanho ? postings.documentos[posicao] : FIM;
+        }
+
+        void avancarAte(int doc) {
+            if (documentoAtual() >= doc) {
+                return;
+            }
+            int pos = Arrays.binarySearch(postings.documentos, posicao, postings.tamanho, doc);
+            posicao = pos >= 0 ? pos : -pos - 1;
+        }
+    }
+}
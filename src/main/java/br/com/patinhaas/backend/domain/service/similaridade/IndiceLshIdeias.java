@@ -0,0 +1,248 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Detecção de quase-duplicatas por MinHash com LSH em bandas.
+ * <p>
+ * Cada ideia recebe uma assinatura de {@code bandas * linhas} valores MinHash calculada sobre
+ * os termos de desafio, solução e nome do experimento. Duas ideias caem no mesmo balde quando
+ * todas as linhas de alguma banda coincidem, então a consulta só olha {@code bandas} baldes,
+ * independentemente do tamanho do acervo. A probabilidade de colisão para Jaccard {@code s}
+ * é {@code 1 - (1 - s^linhas)^bandas}.
+ */
+@Component
+public class IndiceLshIdeias {
+
+    private static final CampoTexto[] CAMPOS = {
+            CampoTexto.DESAFIO_PROBLEMA, CampoTexto.SOLUCAO_DESCRICAO, CampoTexto.NOME_EXPERIMENTO
+    };
+
+    private final int bandas;
+
+    private final int linhas;
+
+    // Similaridade estimada mínima para uma ideia ser apontada como possível duplicata
+    private final double limiar;
+
+    private final long[] sementes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, long[]> assinaturas = new HashMap<>();
+
+    private final List<Map<Long, Set<String>>> baldes = new ArrayList<>();
+
+    /**
+     * Valores inválidos falham na criação do bean, e não na primeira indexação.
+     */
+    public IndiceLshIdeias(@Value("${patinhas.similaridade.lsh.bandas:20}") int bandas,
+                           @Value("${patinhas.similaridade.lsh.linhas:5}") int linhas,
+                           @Value("${patinhas.similaridade.lsh.limiar:0.6}") double limiar) {
+        if (bandas <= 0) {
+            throw new IllegalArgumentException("patinhas.similaridade.lsh.bandas deve ser positivo: " + bandas);
+        }
+        if (linhas <= 0) {
+            throw new IllegalArgumentException("patinhas.similaridade.lsh.linhas deve ser positivo: " + linhas);
+        }
+        if (!(limiar > 0 && limiar <= 1)) {
+            throw new IllegalArgumentException("patinhas.similaridade.lsh.limiar deve estar em (0, 1]: " + limiar);
+        }
+        this.bandas = bandas;
+        this.linhas = linhas;
+        this.limiar = limiar;
+
+        // Semente fixa: a mesma ideia gera sempre a mesma assinatura
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        sementes = new long[Math.multiplyExact(bandas, linhas)];
+        for (int i = 0; i < sementes.length; i++) {
+            sementes[i] = random.nextLong();
+        }
+        for (int i = 0; i < bandas; i++) {
+            baldes.add(new HashMap<>());
+        }
+    }
+
+    public void reconstruir(Collection<Ideia> ideias) {
+        lock.writeLock().lock();
+        try {
+            assinaturas.clear();
+            baldes.forEach(Map::clear);
+            ideias.forEach(this::adicionar);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexar(Ideia ideia) {
+        lock.writeLock().lock();
+        try {
+            removerAssinatura(ideia.getId());
+            adicionar(ideia);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa um bloco de ideias sob uma única aquisição da trava, substituindo as versões
+     * anteriores. Usado na carga inicial, que percorre o acervo em blocos.
+     */
+    public void indexarTodas(Collection<Ideia> ideias) {
+        lock.writeLock().lock();
+        try {
+            for (Ideia ideia : ideias) {
+                removerAssinatura(ideia.getId());
+                adicionar(ideia);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(String ideiaId) {
+        lock.writeLock().lock();
+        try {
+            removerAssinatura(ideiaId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ideias que provavelmente são duplicatas da informada, da mais para a menos parecida.
+     * A própria ideia nunca é retornada.
+     */
+    public List<Candidato> buscar(Ideia ideia) {
+        long[] assinatura = calcularAssinatura(ideia);
+        if (assinatura == null) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Set<String> vistos = new HashSet<>();
+            List<Candidato> candidatos = new ArrayList<>();
+            for (int banda = 0; banda < bandas; banda++) {
+                Set<String> balde = baldes.get(banda).get(chaveBanda(assinatura, banda));
+                if (balde == null) {
+                    continue;
+                }
+                for (String id : balde) {
+                    if (id.equals(ideia.getId()) || !vistos.add(id)) {
+                        continue;
+                    }
+                    double similaridade = similaridadeEstimada(assinatura, assinaturas.get(id));
+                    if (similaridade >= limiar) {
+                        candidatos.add(new Candidato(id, similaridade));
+                    }
+                }
+            }
+            candidatos.sort(Comparator.comparingDouble(Candidato::similaridade).reversed());
+            return candidatos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void adicionar(Ideia ideia) {
+        long[] assinatura = calcularAssinatura(ideia);
+        if (assinatura == null) {
+            return;
+        }
+
+        assinaturas.put(ideia.getId(), assinatura);
+        for (int banda = 0; banda < bandas; banda++) {
+            baldes.get(banda).computeIfAbsent(chaveBanda(assinatura, banda), k -> new HashSet<>()).add(ideia.getId());
+        }
+    }
+
+    private void removerAssinatura(String ideiaId) {
+        long[] assinatura = assinaturas.remove(ideiaId);
+        if (assinatura == null) {
+            return;
+        }
+
+        for (int banda = 0; banda < bandas; banda++) {
+            Map<Long, Set<String>> mapa = baldes.get(banda);
+            long chave = chaveBanda(assinatura, banda);
+            Set<String> balde = mapa.get(chave);
+            if (balde != null) {
+                balde.remove(ideiaId);
+                if (balde.isEmpty()) {
+                    mapa.remove(chave);
+                }
+            }
+        }
+    }
+
+    private long[] calcularAssinatura(Ideia ideia) {
+        TermosIdeia termos = TermosIdeia.de(ideia);
+        Set<String> shingles = new HashSet<>();
+        for (CampoTexto campo : CAMPOS) {
+            shingles.addAll(termos.get(campo));
+        }
+        if (shingles.isEmpty()) {
+            return null;
+        }
+
+        long[] assinatura = new long[sementes.length];
+        Arrays.fill(assinatura, Long.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = misturar(shingle.hashCode());
+            for (int i = 0; i < sementes.length; i++) {
+                long valor = misturar(base ^ sementes[i]);
+                if (valor < assinatura[i]) {
+                    assinatura[i] = valor;
+                }
+            }
+        }
+        return assinatura;
+    }
+
+    private long chaveBanda(long[] assinatura, int banda) {
+        long chave = banda;
+        int inicio = banda * linhas;
+        for (int i = inicio; i < inicio + linhas; i++) {
+            chave = misturar(chave * 31 + assinatura[i]);
+        }
+        return chave;
+    }
+
+    private static double similaridadeEstimada(long[] a, long[] b) {
+        int iguais = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                iguais++;
+            }
+        }
+        return (double) iguais / a.length;
+    }
+
+    // Finalizador do MurmurHash3 (fmix64)
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+
+    public record Candidato(String ideiaId, double similaridade) {
+    }
+}
@@ -0,0 +1,14 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+/**
+ * Origem dos candidatos re-ranqueados pela {@link CalculadoraSimilaridade}
+ * ({@code patinhas.similaridade.recuperacao}).
+ */
+public enum ModoRecuperacao {
+
+    // Índice invertido BM25F mantido em memória (IndiceInvertidoIdeias)
+    INDICE,
+
+    // Índice FULLTEXT do MySQL; só os candidatos recuperados saem do banco
+    FULLTEXT
+}
@@ -0,0 +1,26 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import java.time.Duration;
+
+/**
+ * Instante limite de uma busca por similaridade, medido pelo relógio monotônico. Ao se esgotar,
+ * a busca para de avaliar candidatos e devolve os melhores encontrados até ali.
+ * @param limiteNanos instante limite em {@link System#nanoTime()}
+ * @param limitado falso quando a busca pode avaliar todos os candidatos
+ */
+public record PrazoBusca(long limiteNanos, boolean limitado) {
+
+    public static final PrazoBusca SEM_LIMITE = new PrazoBusca(0, false);
+
+    /**
+     * Prazo contado a partir de agora; o tempo de espera na fila do executor também consome o orçamento.
+     */
+    public static PrazoBusca de(Duration orcamento) {
+        return new PrazoBusca(System.nanoTime() + orcamento.toNanos(), true);
+    }
+
+    public boolean esgotado() {
+        // Diferença, e não comparação direta, porque nanoTime pode dar a volta
+        return limitado && System.nanoTime() - limiteNanos >= 0;
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Seleção dos {@code capacidade} itens de maior score com um min-heap limitado:
+ * O(n log k) de tempo e O(k) de memória, sem ordenar todos os candidatos.
+ */
+public final class SelecaoTopK<T> {
+
+    private final int capacidade;
+    private final ToDoubleFunction<T> score;
+    private final PriorityQueue<T> heap;
+
+    public SelecaoTopK(int capacidade, ToDoubleFunction<T> score) {
+        this.capacidade = capacidade;
+        this.score = score;
+        this.heap = new PriorityQueue<>(Math.max(1, capacidade), Comparator.comparingDouble(score));
+    }
+
+    public void oferecer(T item) {
+        if (capacidade <= 0) {
+            return;
+        }
+        if (heap.size() < capacidade) {
+            heap.add(item);
+        } else if (score.applyAsDouble(item) > score.applyAsDouble(heap.peek())) {
+            heap.poll();
+            heap.add(item);
+        }
+    }
+
+    /**
+     * Itens selecionados do maior para o menor score, a partir da posição {@code offset}.
+     */
+    public List<T> pagina(int offset) {
+        List<T> ordenados = new ArrayList<>(heap);
+        ordenados.sort(Comparator.comparingDouble(score).reversed());
+        return offset >= ordenados.size() ? new ArrayList<>() : new ArrayList<>(ordenados.subList(offset, ordenados.size()));
+    }
+}
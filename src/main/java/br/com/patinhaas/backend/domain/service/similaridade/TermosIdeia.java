@@ -0,0 +1,37 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conjuntos de termos de uma ideia, lidos das colunas pré-tokenizadas.
+ */
+public final class TermosIdeia {
+
+    private final Ideia ideia;
+    private final Map<CampoTexto, Set<String>> termos = new EnumMap<>(CampoTexto.class);
+
+    private TermosIdeia(Ideia ideia) {
+        this.ideia = ideia;
+        for (CampoTexto campo : CampoTexto.values()) {
+            termos.put(campo, Collections.unmodifiableSet(new HashSet<>(Tokenizador.desserializar(campo.termos(ideia)))));
+        }
+    }
+
+    public static TermosIdeia de(Ideia ideia) {
+        return new TermosIdeia(ideia);
+    }
+
+    public Ideia getIdeia() {
+        return ideia;
+    }
+
+    public Set<String> get(CampoTexto campo) {
+        return termos.get(campo);
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto usada pela busca de similaridade: minúsculas, remoção de pontuação
+ * (mantendo acentos), descarte de stop words e de palavras com até dois caracteres.
+ */
+public final class Tokenizador {
+
+    private static final Pattern PONTUACAO = Pattern.compile("[^a-záàâãéèêíïóôõöúçñ\\s]");
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    // Stop words em português
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "o", "e", "de", "da", "do", "em", "um", "uma", "para", "com", "por",
+            "que", "se", "na", "no", "as", "os", "das", "dos", "nas", "nos", "ao",
+            "à", "pela", "pelo", "pelas", "pelos", "ser", "ter", "ou", "mais", "como",
+            "mas", "não", "sua", "seu", "suas", "seus", "esta", "este", "estas", "estes",
+            "essa", "esse", "essas", "esses", "já", "foi", "são", "tem", "têm", "muito",
+            "pode", "podem", "sobre", "também", "quando", "onde", "sistema", "através"
+    );
+
+    private Tokenizador() {
+    }
+
+    /**
+     * Tokeniza o texto preservando a ordem e as repetições dos termos.
+     * @param texto texto livre, pode ser nulo
+     * @return termos normalizados
+     */
+    public static List<String> tokenizar(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+
+        String limpo = PONTUACAO.matcher(texto.toLowerCase()).replaceAll("");
+        for (String palavra : ESPACOS.split(limpo)) {
+            if (palavra.length() > 2 && !STOP_WORDS.contains(palavra)) {
+                termos.add(palavra);
+            }
+        }
+        return termos;
+    }
+
+    public static Set<String> conjunto(String texto) {
+        return new HashSet<>(tokenizar(texto));
+    }
+
+    /**
+     * Forma compacta gravada no banco: termos separados por um único espaço.
+     */
+    public static String serializar(List<String> termos) {
+        return String.join(" ", termos);
+    }
+
+    /**
+     * Lê termos gravados por {@link #serializar(List)} sem nenhuma expressão regular.
+     * @param termos conteúdo da coluna de termos, pode ser nulo
+     * @return termos na ordem em que foram gravados
+     */
+    public static List<String> desserializar(String termos) {
+        List<String> resultado = new ArrayList<>();
+        if (termos == null || termos.isEmpty()) {
+            return resultado;
+        }
+
+        int inicio = 0;
+        int fim;
+        while ((fim = termos.indexOf(' ', inicio)) >= 0) {
+            if (fim > inicio) {
+                resultado.add(termos.substring(inicio, fim));
+            }
+            inicio = fim + 1;
+        }
+        if (inicio < termos.length()) {
+            resultado.add(termos.substring(inicio));
+        }
+        return resultado;
+    }
+}
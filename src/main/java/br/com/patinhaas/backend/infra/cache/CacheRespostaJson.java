@@ -0,0 +1,214 @@
+package br.com.patinhaas.backend.infra.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU de respostas já serializadas em JSON, limitado pelo total de bytes.
+ * <p>
+ * Cada entrada guarda a versão (@Version) da entidade que a gerou. As escritas invalidam
+ * registrando a versão gravada como mínima para o id, então uma leitura concorrente que
+ * carregou a versão anterior não consegue repor bytes desatualizados. As versões mínimas ficam
+ * fora do LRU e do limite de bytes, para que um despejo não apague a marca, e só vivem enquanto
+ * houver alguma carga iniciada antes da invalidação: uma carga iniciada depois já lê a versão
+ * gravada. Sem cargas em andamento o mapa fica vazio, então ele não cresce com os ids invalidados.
+ * <p>
+ * O estado é protegido por um {@link ReentrantLock}, e não por {@code synchronized}: no Java 21
+ * uma thread virtual bloqueada em um monitor disputado prende a thread carregadora.
+ */
+public class CacheRespostaJson {
+
+    // Custo estimado de uma entrada além do JSON (chave, nó do mapa, cabeçalhos de objeto)
+    private static final int CUSTO_FIXO_ENTRADA = 128;
+
+    // Versão das marcas de exclusão: nenhuma leitura posterior repõe a entrada
+    public static final long VERSAO_EXCLUIDA = Long.MAX_VALUE;
+
+    private final String nome;
+
+    private final long capacidadeBytes;
+
+    private final ObjectMapper objectMapper;
+
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Em ordem de invalidação: as marcas mais antigas são as primeiras a vencer
+    private final LinkedHashMap<String, Marca> versoesMinimas = new LinkedHashMap<>();
+
+    // Instantes em que as cargas ainda em andamento começaram
+    private final TreeSet<Long> cargasEmAndamento = new TreeSet<>();
+
+    // Relógio lógico: avança a cada carga iniciada e a cada invalidação
+    private long relogio;
+
+    private final ReentrantLock trava = new ReentrantLock();
+
+    private long bytesOcupados;
+
+    private long acertos;
+
+    private long falhas;
+
+    private long despejos;
+
+    public CacheRespostaJson(String nome, long capacidadeBytes, ObjectMapper objectMapper) {
+        this.nome = nome;
+        this.capacidadeBytes = capacidadeBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Devolve o JSON em cache ou carrega, serializa e guarda a resposta. Exceções do
+     * carregador (como recurso não encontrado) são propagadas sem nada ser guardado.
+     */
+    public byte[] obter(String id, Supplier<Versionado> carregador) {
+        long inicio;
+        trava.lock();
+        try {
+            Entrada entrada = entradas.get(id);
+            if (entrada != null) {
+                acertos++;
+                return entrada.json();
+            }
+            falhas++;
+            inicio = ++relogio;
+            cargasEmAndamento.add(inicio);
+        } finally {
+            trava.unlock();
+        }
+
+        try {
+            Versionado carregado = carregador.get();
+            byte[] json = serializar(carregado.valor());
+            armazenar(id, new Entrada(carregado.versao(), json));
+            return json;
+        } finally {
+            concluirCarga(inicio);
+        }
+    }
+
+    /**
+     * Descarta o JSON do id e impede que versões anteriores a {@code versao} voltem ao cache.
+     */
+    public void invalidar(String id, long versao) {
+        trava.lock();
+        try {
+            // Reinserida no fim, com o instante desta invalidação
+            Marca anterior = versoesMinimas.remove(id);
+            long versaoMinima = anterior != null ? Math.max(anterior.versao(), versao) : versao;
+            versoesMinimas.put(id, new Marca(versaoMinima, ++relogio));
+            Entrada atual = entradas.get(id);
+            if (atual != null && atual.versao() < versao) {
+                entradas.remove(id);
+                bytesOcupados -= atual.custo();
+            }
+            descartarMarcasVencidas();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        trava.lock();
+        try {
+            return new Estatisticas(nome, acertos, falhas, despejos, entradas.size(), versoesMinimas.size(),
+                    cargasEmAndamento.size(), bytesOcupados, capacidadeBytes);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void armazenar(String id, Entrada nova) {
+        trava.lock();
+        try {
+            armazenarComTrava(id, nova);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void concluirCarga(long inicio) {
+        trava.lock();
+        try {
+            cargasEmAndamento.remove(inicio);
+            descartarMarcasVencidas();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Remove as marcas anteriores à carga em andamento mais antiga: nenhuma carga que começou
+     * antes delas ainda pode tentar armazenar.
+     */
+    private void descartarMarcasVencidas() {
+        long cargaMaisAntiga = cargasEmAndamento.isEmpty() ? Long.MAX_VALUE : cargasEmAndamento.first();
+        Iterator<Marca> iterator = versoesMinimas.values().iterator();
+        while (iterator.hasNext() && iterator.next().instante() < cargaMaisAntiga) {
+            iterator.remove();
+        }
+    }
+
+    private void armazenarComTrava(String id, Entrada nova) {
+        Marca marca = versoesMinimas.get(id);
+        if (marca != null && nova.versao() < marca.versao()) {
+            return;
+        }
+        Entrada atual = entradas.get(id);
+        if (atual != null && nova.versao() <= atual.versao()) {
+            return;
+        }
+        if (nova.custo() > capacidadeBytes) {
+            return;
+        }
+
+        if (atual != null) {
+            bytesOcupados -= atual.custo();
+        }
+        entradas.put(id, nova);
+        bytesOcupados += nova.custo();
+
+        Iterator<Map.Entry<String, Entrada>> iterator = entradas.entrySet().iterator();
+        while (bytesOcupados > capacidadeBytes && iterator.hasNext()) {
+            Entrada menosUsada = iterator.next().getValue();
+            iterator.remove();
+            bytesOcupados -= menosUsada.custo();
+            despejos++;
+        }
+    }
+
+    private byte[] serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsBytes(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta do cache " + nome, e);
+        }
+    }
+
+    private record Marca(long versao, long instante) {
+    }
+
+    private record Entrada(long versao, byte[] json) {
+        int custo() {
+            return CUSTO_FIXO_ENTRADA + json.length;
+        }
+    }
+
+    /**
+     * Resposta a ser serializada junto com a versão da entidade de origem.
+     */
+    public record Versionado(long versao, Object valor) {
+    }
+
+    public record Estatisticas(String nome, long acertos, long falhas, long despejos,
+                               int entradas, int versoesMinimas, int cargasEmAndamento,
+                               long bytesOcupados, long capacidadeBytes) {
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.patinhaas.backend.infra.config;
+
+import br.com.patinhaas.backend.infra.metricas.EndpointAtual;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executores das tarefas em background. Com {@code spring.threads.virtual.enabled=true} o
+ * Tomcat atende as requisições em threads virtuais e estes executores também passam a criar
+ * threads virtuais, mantendo o tamanho de cada pool: vizinhança e matching continuam
+ * serializados e os workers de avaliação continuam limitando as chamadas ao avaliador.
+ */
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    /**
+     * Executor da vizinhança materializada. Uma única thread serializa os recálculos,
+     * evitando que dois deles apaguem e regravem o mesmo par ao mesmo tempo.
+     */
+    @Bean(name = "vizinhancaExecutor")
+    public ThreadPoolTaskExecutor vizinhancaExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setVirtualThreads(threadsVirtuais);
+        executor.setThreadNamePrefix("vizinhanca-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor do matching problema-ideia, com uma única thread pelo mesmo motivo. A carga
+     * completa paraleliza internamente a pontuação.
+     */
+    @Bean(name = "matchingExecutor")
+    public ThreadPoolTaskExecutor matchingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setVirtualThreads(threadsVirtuais);
+        executor.setThreadNamePrefix("matching-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Workers da fila de avaliação por IA. Cada thread atende um lote por vez, então o
+     * tamanho do pool limita as chamadas simultâneas ao avaliador.
+     */
+    @Bean(name = "avaliacaoIAExecutor")
+    public ThreadPoolTaskExecutor avaliacaoIAExecutor(@Value("${patinhas.avaliacao-ia.workers:2}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setVirtualThreads(threadsVirtuais);
+        executor.setThreadNamePrefix("avaliacao-ia-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Buscas por similaridade atendidas fora da thread da requisição. A pontuação usa CPU, então
+     * o pool acompanha o número de processadores; com a fila cheia a busca é recusada com 503.
+     */
+    @Bean(name = "similaridadeExecutor")
+    public ThreadPoolTaskExecutor similaridadeExecutor(
+            @Value("${patinhas.similaridade.workers:0}") int workers,
+            @Value("${patinhas.similaridade.fila:100}") int fila) {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setVirtualThreads(threadsVirtuais);
+        executor.setThreadNamePrefix("similaridade-");
+        executor.setTaskDecorator(EndpointAtual::propagar);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.patinhaas.backend.infra.config;
+
+import br.com.patinhaas.backend.infra.cache.CacheRespostaJson;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * JSON de GET /ideias/{id}, serializado pelo mesmo ObjectMapper do Spring MVC.
+     */
+    @Bean(name = "cacheIdeiasJson")
+    public CacheRespostaJson cacheIdeiasJson(ObjectMapper objectMapper,
+                                             @Value("${patinhas.cache.ideias.max-bytes:16777216}") long maxBytes) {
+        return new CacheRespostaJson("ideias", maxBytes, objectMapper);
+    }
+
+    /**
+     * JSON de GET /problemas/{id}.
+     */
+    @Bean(name = "cacheProblemasJson")
+    public CacheRespostaJson cacheProblemasJson(ObjectMapper objectMapper,
+                                                @Value("${patinhas.cache.problemas.max-bytes:8388608}") long maxBytes) {
+        return new CacheRespostaJson("problemas", maxBytes, objectMapper);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.patinhaas.backend.infra.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * Agrupa INSERTs e UPDATEs em lotes JDBC. Os ids são UUID gerados pela aplicação, então o
+     * Hibernate não precisa executar cada INSERT isoladamente para obter a chave (como com IDENTITY).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchingJdbc(@Value("${patinhas.jpa.batch-size:50}") int batchSize) {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            propriedades.put(AvailableSettings.ORDER_INSERTS, true);
+            propriedades.put(AvailableSettings.ORDER_UPDATES, true);
+            propriedades.put(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+
+    /**
+     * Sem rewriteBatchedStatements o Connector/J envia cada item do lote em um round trip próprio.
+     * Desligável por {@code patinhas.jpa.reescrever-lotes=false}, para o BenchmarkLote comparar.
+     */
+    @Bean
+    public static BeanPostProcessor reescritaLotesMysql(@Value("${patinhas.jpa.reescrever-lotes:true}") boolean reescrever) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (reescrever && bean instanceof HikariDataSource dataSource) {
+                    dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
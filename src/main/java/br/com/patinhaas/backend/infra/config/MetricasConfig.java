@@ -0,0 +1,50 @@
+package br.com.patinhaas.backend.infra.config;
+
+import br.com.patinhaas.backend.infra.metricas.ContadorSqlPorEndpoint;
+import br.com.patinhaas.backend.infra.metricas.EndpointInterceptor;
+import br.com.patinhaas.backend.infra.metricas.RepositoryTagsPorEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Métricas publicadas pelo Actuator em {@code /actuator/prometheus}, na porta de gerenciamento
+ * configurada em {@code metricas.properties}. Todas as métricas da aplicação, de repositório e de
+ * SQL levam a tag {@code endpoint} da requisição que as originou.
+ */
+@Configuration
+@PropertySource("classpath:metricas.properties")
+public class MetricasConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointInterceptor());
+    }
+
+    @Bean
+    public RepositoryTagsProvider repositoryTagsPorEndpoint() {
+        return new RepositoryTagsPorEndpoint();
+    }
+
+    /**
+     * Liga as estatísticas do Hibernate (consultas, carregamentos de entidade e acertos de
+     * cache), publicadas pelo hibernate-micrometer, e o contador de SQL por endpoint.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer estatisticasHibernate(
+            @Value("${patinhas.metricas.hibernate.estatisticas:true}") boolean estatisticas,
+            ObjectProvider<MeterRegistry> registry) {
+        return propriedades -> {
+            propriedades.put(AvailableSettings.GENERATE_STATISTICS, estatisticas);
+            propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new ContadorSqlPorEndpoint(registry));
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.patinhaas.backend.infra.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.Locale;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate por endpoint e tipo. As estatísticas do
+ * Hibernate são globais; este contador mostra quais endpoints geram as consultas.
+ */
+public class ContadorSqlPorEndpoint implements StatementInspector {
+
+    private static final String METRICA = "patinhas.sql.comandos";
+
+    // O registry é resolvido na primeira consulta: a EntityManagerFactory sobe antes dele
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public ContadorSqlPorEndpoint(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        registry.getObject()
+                .counter(METRICA, EndpointAtual.TAG, EndpointAtual.get(), "tipo", tipo(sql))
+                .increment();
+        return sql;
+    }
+
+    private static String tipo(String sql) {
+        String inicio = sql.stripLeading();
+        int fim = inicio.indexOf(' ');
+        String comando = (fim > 0 ? inicio.substring(0, fim) : inicio).toLowerCase(Locale.ROOT);
+        return switch (comando) {
+            case "select", "insert", "update", "delete" -> comando;
+            default -> "outro";
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.patinhaas.backend.infra.metricas;
+
+/**
+ * Endpoint da requisição atendida pela thread corrente (ex.: {@code GET /ideias/{id}}), usado
+ * como tag {@code endpoint} das métricas da aplicação. Tarefas @Async e demais trabalhos fora
+ * de requisição ficam com {@link #FORA_DE_REQUISICAO}, exceto as submetidas por
+ * {@link #propagar(Runnable)}.
+ */
+public final class EndpointAtual {
+
+    public static final String TAG = "endpoint";
+
+    public static final String FORA_DE_REQUISICAO = "background";
+
+    private static final ThreadLocal<String> ATUAL = new ThreadLocal<>();
+
+    private EndpointAtual() {
+    }
+
+    public static String get() {
+        String endpoint = ATUAL.get();
+        return endpoint != null ? endpoint : FORA_DE_REQUISICAO;
+    }
+
+    /**
+     * Envolve a tarefa para que, executada em outra thread, ela mantenha o endpoint da
+     * requisição que a submeteu.
+     */
+    public static Runnable propagar(Runnable tarefa) {
+        String endpoint = ATUAL.get();
+        return () -> {
+            String anterior = ATUAL.get();
+            ATUAL.set(endpoint);
+            try {
+                tarefa.run();
+            } finally {
+                ATUAL.set(anterior);
+            }
+        };
+    }
+
+    static void definir(String endpoint) {
+        ATUAL.set(endpoint);
+    }
+
+    static void limpar() {
+        ATUAL.remove();
+    }
+}
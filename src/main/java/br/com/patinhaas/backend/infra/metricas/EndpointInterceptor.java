@@ -0,0 +1,32 @@
+package br.com.patinhaas.backend.infra.metricas;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Registra em {@link EndpointAtual} o padrão da rota atendida, e não a URI, para que a tag
+ * tenha cardinalidade limitada ao número de endpoints.
+ */
+public class EndpointInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String DESCONHECIDO = "desconhecido";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        EndpointAtual.definir(request.getMethod() + " " + (padrao != null ? padrao : DESCONHECIDO));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointAtual.limpar();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        EndpointAtual.limpar();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.patinhaas.backend.infra.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Timers e distribuições dos caminhos quentes que o Actuator não mede sozinho: buscas por
+ * similaridade e conversões para DTO. Todos levam a tag {@code endpoint} de
+ * {@link EndpointAtual} e publicam histograma de percentis para o Prometheus.
+ */
+@Component
+public class MetricasAplicacao {
+
+    private static final String SIMILARIDADE = "patinhas.similaridade";
+
+    private static final String CONVERSAO = "patinhas.conversao";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    /**
+     * Mede uma busca por similaridade e registra quantos itens ela devolveu.
+     * @param operacao nome do método de serviço
+     */
+    public <T> T medirSimilaridade(String operacao, Supplier<T> busca, ToIntFunction<T> resultados) {
+        return medir(SIMILARIDADE, operacao, busca, resultados);
+    }
+
+    /**
+     * Registra quantas ideias candidatas uma busca avaliou, antes do corte por score.
+     */
+    public void registrarCandidatos(String operacao, int quantidade) {
+        resumo(SIMILARIDADE + ".candidatos", operacao).record(quantidade);
+    }
+
+    public <T> T medirConversao(String operacao, Supplier<T> conversao, ToIntFunction<T> itens) {
+        return medir(CONVERSAO, operacao, conversao, itens);
+    }
+
+    private <T> T medir(String metrica, String operacao, Supplier<T> acao, ToIntFunction<T> tamanho) {
+        Timer.Sample amostra = Timer.start(registry);
+        T resultado = acao.get();
+        amostra.stop(Timer.builder(metrica)
+                .tag("operacao", operacao)
+                .tag(EndpointAtual.TAG, EndpointAtual.get())
+                .publishPercentileHistogram()
+                .register(registry));
+        resumo(metrica + ".resultados", operacao).record(tamanho.applyAsInt(resultado));
+        return resultado;
+    }
+
+    private DistributionSummary resumo(String metrica, String operacao) {
+        return DistributionSummary.builder(metrica)
+                .tag("operacao", operacao)
+                .tag(EndpointAtual.TAG, EndpointAtual.get())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.patinhaas.backend.infra.metricas;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+
+/**
+ * Acrescenta a tag {@code endpoint} ao timer {@code spring.data.repository.invocations}, que o
+ * Actuator registra para cada chamada de repositório.
+ */
+public class RepositoryTagsPorEndpoint extends DefaultRepositoryTagsProvider {
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        return Tags.of(super.repositoryTags(invocation)).and(EndpointAtual.TAG, EndpointAtual.get());
+    }
+}
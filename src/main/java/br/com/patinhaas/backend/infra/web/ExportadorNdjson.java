@@ -0,0 +1,54 @@
+package br.com.patinhaas.backend.infra.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Escreve exportações como JSON delimitado por linha (um objeto por linha), à medida que
+ * a fonte entrega os registros. Nada é acumulado em memória além do buffer de saída.
+ */
+@Component
+public class ExportadorNdjson {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * @param fonte percorre os registros entregando cada um ao consumidor recebido
+     * @param conversor converte o registro no objeto serializado em cada linha
+     */
+    public <E> ResponseEntity<StreamingResponseBody> exportar(Consumer<Consumer<E>> fonte, Function<E, ?> conversor) {
+        StreamingResponseBody corpo = saida -> {
+            OutputStream buffer = new BufferedOutputStream(saida, TAMANHO_BUFFER);
+            fonte.accept(registro -> escreverLinha(buffer, conversor.apply(registro)));
+            buffer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(corpo);
+    }
+
+    private void escreverLinha(OutputStream saida, Object valor) {
+        try {
+            saida.write(objectMapper.writeValueAsBytes(valor));
+            saida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Termos normalizados (Tokenizador) de cada campo usado na busca de similaridade,
+-- separados por espaço e na ordem original. NULL indica linha ainda não tokenizada.
+ALTER TABLE ideias
+    ADD COLUMN termos_desafio_problema     TEXT,
+    ADD COLUMN termos_solucao_descricao    TEXT,
+    ADD COLUMN termos_nome_experimento     TEXT,
+    ADD COLUMN termos_metodologia_execucao TEXT;
@@ -0,0 +1,14 @@
+-- Vizinhança materializada: para cada ideia, as ideias com score acima do limiar de similaridade.
+-- A relação é simétrica, então cada par é gravado nos dois sentidos.
+CREATE TABLE IF NOT EXISTS ideias_vizinhas
+(
+    ideia_id   VARCHAR(36) NOT NULL,
+    vizinha_id VARCHAR(36) NOT NULL,
+    score      DOUBLE      NOT NULL,
+    criterios  TEXT,
+    PRIMARY KEY (ideia_id, vizinha_id),
+    INDEX idx_ideias_vizinhas_score (ideia_id, score DESC),
+    INDEX idx_ideias_vizinhas_vizinha (vizinha_id),
+    CONSTRAINT fk_ideias_vizinhas_ideia FOREIGN KEY (ideia_id) REFERENCES ideias (id) ON DELETE CASCADE,
+    CONSTRAINT fk_ideias_vizinhas_vizinha FOREIGN KEY (vizinha_id) REFERENCES ideias (id) ON DELETE CASCADE
+    );
@@ -0,0 +1,3 @@
+-- Paginação keyset de /ideias/listar e /problemas por (data_criacao DESC, id DESC)
+CREATE INDEX idx_ideias_data_criacao_id ON ideias (data_criacao, id);
+CREATE INDEX idx_problemas_data_criacao_id ON problemas (data_criacao, id);
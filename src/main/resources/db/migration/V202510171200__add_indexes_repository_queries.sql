@@ -0,0 +1,15 @@
+-- Índices para as consultas do IdeiaRepository e do ProblemaRepository.
+-- Os índices compostos (status, categoria) atendem tanto findByStatus (prefixo) quanto
+-- findByStatusAndCategoria. As buscas "Containing"/LIKE '%...%' não conseguem usar B-tree
+-- pelo curinga inicial; o índice de nome_experimento atende a igualdade de
+-- findByNomeExperimento.
+
+CREATE INDEX idx_ideias_status_categoria ON ideias (status, categoria);
+CREATE INDEX idx_ideias_categoria ON ideias (categoria);
+CREATE INDEX idx_ideias_nome_experimento ON ideias (nome_experimento);
+
+CREATE INDEX idx_problemas_status_categoria ON problemas (status, categoria);
+CREATE INDEX idx_problemas_categoria ON problemas (categoria);
+CREATE INDEX idx_problemas_email ON problemas (email);
+-- findByMatchingScoreNotNullOrderByMatchingScoreDesc: range scan em ordem reversa, sem filesort
+CREATE INDEX idx_problemas_matching_score ON problemas (matching_score);
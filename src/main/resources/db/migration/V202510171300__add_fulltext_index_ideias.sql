@@ -0,0 +1,3 @@
+-- Recuperação de candidatos por MATCH ... AGAINST (patinhas.similaridade.recuperacao=FULLTEXT)
+ALTER TABLE ideias
+    ADD FULLTEXT INDEX ft_ideias_texto (desafio_problema, solucao_descricao, nome_experimento);
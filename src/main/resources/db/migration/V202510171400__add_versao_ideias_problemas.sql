@@ -0,0 +1,6 @@
+-- Versão otimista (@Version) usada como chave do cache de respostas JSON
+ALTER TABLE ideias
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE problemas
+    ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+-- Matching problema-ideia: para cada problema, as ideias com score acima do limiar de matching.
+-- problemas.matching_score guarda o maior score de cada problema.
+CREATE TABLE IF NOT EXISTS problemas_ideias
+(
+    problema_id VARCHAR(36) NOT NULL,
+    ideia_id    VARCHAR(36) NOT NULL,
+    score       DOUBLE      NOT NULL,
+    PRIMARY KEY (problema_id, ideia_id),
+    INDEX idx_problemas_ideias_score (problema_id, score DESC),
+    INDEX idx_problemas_ideias_ideia (ideia_id),
+    CONSTRAINT fk_problemas_ideias_problema FOREIGN KEY (problema_id) REFERENCES problemas (id) ON DELETE CASCADE,
+    CONSTRAINT fk_problemas_ideias_ideia FOREIGN KEY (ideia_id) REFERENCES ideias (id) ON DELETE CASCADE
+    );
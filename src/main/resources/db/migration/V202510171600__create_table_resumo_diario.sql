@@ -0,0 +1,27 @@
+-- Rollup diário de ideias e problemas criados por dia, categoria e status, lido pelos
+-- gráficos de tendência. A aplicação recalcula os dias afetados na mesma transação de
+-- cada escrita; categoria e status podem ser nulos em registros antigos, por isso a
+-- chave é substituta.
+CREATE TABLE IF NOT EXISTS resumo_diario
+(
+    id        BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    dia       DATE        NOT NULL,
+    tipo      VARCHAR(20) NOT NULL,
+    categoria VARCHAR(50),
+    status    VARCHAR(50),
+    total     INT         NOT NULL,
+    INDEX idx_resumo_diario_tipo_dia (tipo, dia)
+    );
+
+-- Carga inicial a partir do acervo existente
+INSERT INTO resumo_diario (dia, tipo, categoria, status, total)
+SELECT DATE(data_criacao), 'IDEIA', categoria, status, COUNT(*)
+FROM ideias
+WHERE data_criacao IS NOT NULL
+GROUP BY DATE(data_criacao), categoria, status;
+
+INSERT INTO resumo_diario (dia, tipo, categoria, status, total)
+SELECT DATE(data_criacao), 'PROBLEMA', categoria, status, COUNT(*)
+FROM problemas
+WHERE data_criacao IS NOT NULL
+GROUP BY DATE(data_criacao), categoria, status;
@@ -0,0 +1,10 @@
+-- Chave única por linha do resumo diário, para as escritas aplicarem deltas com
+-- INSERT ... ON DUPLICATE KEY UPDATE em vez de apagar e regravar o dia inteiro.
+-- Categoria e status podem ser nulos e o índice único não compara nulos, por isso a
+-- chave usa colunas geradas com '' no lugar de NULL. O prefixo (tipo, dia) atende as
+-- leituras por período, substituindo o índice anterior.
+ALTER TABLE resumo_diario
+    ADD COLUMN categoria_chave VARCHAR(50) AS (COALESCE(categoria, '')) STORED,
+    ADD COLUMN status_chave    VARCHAR(50) AS (COALESCE(status, '')) STORED,
+    ADD UNIQUE INDEX uk_resumo_diario_linha (tipo, dia, categoria_chave, status_chave),
+    DROP INDEX idx_resumo_diario_tipo_dia;
@@ -0,0 +1,24 @@
+-- data_criacao obrigatória: o cursor da paginação keyset codifica (data_criacao, id) e não
+-- representa nulos. Registros antigos sem data recebem 1970-01-01 12:00 UTC, que mantém
+-- essas linhas no fim da ordenação DESC; o meio-dia mantém o dia em qualquer fuso de sessão.
+-- As linhas ficavam fora do resumo diário e passam a ser contadas nesse dia, para que as
+-- próximas escritas apliquem deltas sobre uma contagem existente.
+INSERT INTO resumo_diario (dia, tipo, categoria, status, total)
+SELECT DATE(FROM_UNIXTIME(43200)), 'IDEIA', categoria, status, COUNT(*)
+FROM ideias
+WHERE data_criacao IS NULL
+GROUP BY categoria, status
+ON DUPLICATE KEY UPDATE total = total + VALUES(total);
+
+INSERT INTO resumo_diario (dia, tipo, categoria, status, total)
+SELECT DATE(FROM_UNIXTIME(43200)), 'PROBLEMA', categoria, status, COUNT(*)
+FROM problemas
+WHERE data_criacao IS NULL
+GROUP BY categoria, status
+ON DUPLICATE KEY UPDATE total = total + VALUES(total);
+
+UPDATE ideias SET data_criacao = FROM_UNIXTIME(43200) WHERE data_criacao IS NULL;
+UPDATE problemas SET data_criacao = FROM_UNIXTIME(43200) WHERE data_criacao IS NULL;
+
+ALTER TABLE ideias MODIFY data_criacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE problemas MODIFY data_criacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
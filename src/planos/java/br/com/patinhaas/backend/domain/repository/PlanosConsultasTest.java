@@ -0,0 +1,404 @@
+package br.com.patinhaas.backend.domain.repository;
+
+import br.com.patinhaas.backend.domain.model.enums.CategoriaEnum;
+import br.com.patinhaas.backend.domain.model.enums.Status;
+import br.com.patinhaas.backend.domain.model.enums.TipoRegistro;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Regressão dos planos de consulta: sobe um MariaDB embarcado, aplica as migrations Flyway,
+ * popula as tabelas e chama cada método dos repositórios. O SQL que o Hibernate envia ao banco,
+ * com os parâmetros vinculados, é registrado por {@link RegistroSql} e repetido com EXPLAIN.
+ * Falha quando alguma tabela é lida por varredura completa ({@code type=ALL}) ou sem índice.
+ * <p>
+ * Uma consulta nova ou alterada nos repositórios entra aqui junto com o índice que a atende.
+ * Ficam de fora, de propósito, as que varrem a tabela por natureza:
+ * <ul>
+ *     <li>buscas {@code Containing}/{@code LIKE '%...%'}, que o B-tree não atende pelo curinga inicial;</li>
+ *     <li>{@code streamTodos}, {@code findTodosTermos} e {@code findSemTermos}, que leem o acervo inteiro;</li>
+ *     <li>{@code findTotaisPorStatusECategoria}, agregação sobre todas as linhas;</li>
+ *     <li>{@code ResumoDiarioRepository.somar}, INSERT de uma linha sem plano de leitura.</li>
+ * </ul>
+ * Roda no perfil {@code planos}: {@code ./mvnw -P planos test}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlanosConsultasTest {
+
+    private static final int IDEIAS = 3000;
+    private static final int PROBLEMAS = 3000;
+    private static final int VINCULOS_POR_REGISTRO = 10;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private static final String[] STATUS = {"ABERTO", "EM_ANALISE", "VALIDADO", "REJEITADO"};
+    private static final String[] CATEGORIAS = {"OPERACIONAL", "TECNOLOGICA", "ATENDIMENTO", "COMPLIANCE", "GESTAO", "SUSTENTABILIDADE"};
+
+    private static DB db;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RegistroSql registroSql;
+
+    @Autowired
+    private IdeiaRepository ideiaRepository;
+
+    @Autowired
+    private ProblemaRepository problemaRepository;
+
+    @Autowired
+    private IdeiaVizinhaRepository vizinhaRepository;
+
+    @Autowired
+    private ProblemaIdeiaRepository problemaIdeiaRepository;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @SpringBootConfiguration
+    @EntityScan("br.com.patinhaas.backend.domain.model")
+    @EnableJpaRepositories("br.com.patinhaas.backend.domain.repository")
+    static class Configuracao {
+
+        @Bean
+        static RegistroSql registroSql() {
+            return new RegistroSql();
+        }
+    }
+
+    // O banco sobe antes do contexto, que aplica as migrations pelo Flyway ao iniciar
+    @DynamicPropertySource
+    static void banco(DynamicPropertyRegistry propriedades) throws Exception {
+        DBConfigurationBuilder configuracao = DBConfigurationBuilder.newBuilder();
+        configuracao.setPort(0);
+        if ("root".equals(System.getProperty("user.name"))) {
+            // O mariadbd se recusa a rodar como root sem --user
+            configuracao.addArg("--user=root");
+        }
+        db = DB.newEmbeddedDB(configuracao.build());
+        db.start();
+
+        // Cria o schema pelo driver: o createDB do MariaDB4j depende do cliente mariadb e da libncurses
+        String url = "jdbc:mysql://localhost:" + db.getConfiguration().getPort()
+                + "/patinhas?createDatabaseIfNotExist=true";
+        propriedades.add("spring.datasource.url", () -> url);
+        propriedades.add("spring.datasource.username", () -> "root");
+        propriedades.add("spring.datasource.password", () -> "");
+        propriedades.add("spring.flyway.locations", () -> "classpath:db/migration");
+        propriedades.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @BeforeAll
+    void popularBanco() throws SQLException {
+        try (Connection conexao = dataSource.getConnection()) {
+            popular(conexao);
+        }
+    }
+
+    @AfterAll
+    void pararBanco() throws Exception {
+        if (db != null) {
+            db.stop();
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    void consultaUsaIndice(String consulta, Runnable chamada) throws SQLException {
+        List<RegistroSql.Comando> comandos = registroSql.registrar(chamada);
+        assertFalse(comandos.isEmpty(), consulta + " não enviou SQL ao banco");
+
+        try (Connection conexao = dataSource.getConnection()) {
+            for (RegistroSql.Comando comando : comandos) {
+                List<String> linhas = new ArrayList<>();
+                try (PreparedStatement explain = comando.preparar(conexao, "EXPLAIN ");
+                     ResultSet plano = explain.executeQuery()) {
+                    while (plano.next()) {
+                        String tipo = plano.getString("type");
+                        String indice = plano.getString("key");
+                        linhas.add(String.format("%s type=%s key=%s extra=%s",
+                                plano.getString("table"), tipo, indice, plano.getString("Extra")));
+
+                        assertNotEquals("ALL", tipo, () -> consulta + " faz varredura completa: " + linhas + " em " + comando.sql());
+                        assertNotNull(indice, () -> consulta + " não usa índice: " + linhas + " em " + comando.sql());
+                    }
+                }
+                assertFalse(linhas.isEmpty(), consulta + " sem plano: " + comando.sql());
+            }
+        }
+    }
+
+    Stream<Arguments> consultas() {
+        String ideia = ideiaId(42);
+        List<String> ideias = List.of(ideiaId(1), ideiaId(2), ideiaId(3));
+        String problema = problemaId(42);
+        List<String> problemas = List.of(problemaId(1), problemaId(2), problemaId(3));
+        // Cursor entre os registros mais antigos: páginas profundas são as que mais sofreriam com filesort
+        var cursor = dataCriacao(100).atOffset(ZoneOffset.UTC);
+        PageRequest pagina = PageRequest.of(0, 21);
+
+        return Stream.of(
+                // IdeiaRepository
+                consulta("IdeiaRepository.findByNomeExperimento",
+                        () -> ideiaRepository.findByNomeExperimento("Experimento 42")),
+                consulta("IdeiaRepository.findByStatus",
+                        () -> ideiaRepository.findByStatus(Status.IMPLEMENTADO)),
+                consulta("IdeiaRepository.findByCategoria",
+                        () -> ideiaRepository.findByCategoria(CategoriaEnum.ECOSSISTEMA)),
+                consulta("IdeiaRepository.findIdeiaById",
+                        () -> ideiaRepository.findIdeiaById(ideia)),
+                consulta("IdeiaRepository.findByStatusAndCategoria",
+                        () -> ideiaRepository.findByStatusAndCategoria(Status.ABERTO, CategoriaEnum.ECOSSISTEMA)),
+                consulta("IdeiaRepository.findCandidatosFulltext",
+                        () -> ideiaRepository.findCandidatosFulltext("estoque", 200)),
+                consulta("IdeiaRepository.findResumosByStatus",
+                        () -> ideiaRepository.findResumosByStatus(Status.IMPLEMENTADO)),
+                consulta("IdeiaRepository.findPrimeiraPagina",
+                        () -> ideiaRepository.findPrimeiraPagina(pagina)),
+                consulta("IdeiaRepository.findPaginaApos",
+                        () -> ideiaRepository.findPaginaApos(cursor, ideiaId(100), pagina)),
+                consulta("IdeiaRepository.findTermos",
+                        () -> ideiaRepository.findTermos(ideias)),
+                consulta("IdeiaRepository.findTermosApos",
+                        () -> ideiaRepository.findTermosApos(ideiaId(100), PageRequest.of(0, 2000))),
+                consulta("IdeiaRepository.updateStatus",
+                        () -> ideiaRepository.updateStatus(ideia, Status.VALIDADO)),
+                consulta("IdeiaRepository.updateStatusEmLote",
+                        () -> ideiaRepository.updateStatusEmLote(ideias, Status.VALIDADO)),
+                consulta("IdeiaRepository.updateAvaliacaoIA",
+                        () -> ideiaRepository.updateAvaliacaoIA(ideia, "ok")),
+                consulta("IdeiaRepository.updateAvaliacaoHumana",
+                        () -> ideiaRepository.updateAvaliacaoHumana(ideia, "ok")),
+                consulta("IdeiaRepository.findVersoes",
+                        () -> ideiaRepository.findVersoes(ideias)),
+                consulta("IdeiaRepository.findChavesResumo",
+                        () -> ideiaRepository.findChavesResumo(ideias)),
+                consulta("IdeiaRepository.findTextoAvaliado",
+                        () -> ideiaRepository.findTextoAvaliado(ideia)),
+
+                // ProblemaRepository
+                consulta("ProblemaRepository.findByStatus",
+                        () -> problemaRepository.findByStatus(Status.IMPLEMENTADO)),
+                consulta("ProblemaRepository.findByCategoria",
+                        () -> problemaRepository.findByCategoria(CategoriaEnum.ECOSSISTEMA)),
+                consulta("ProblemaRepository.findByEmail",
+                        () -> problemaRepository.findByEmail("autor42@patinhas.com.br")),
+                consulta("ProblemaRepository.findProblemaById",
+                        () -> problemaRepository.findProblemaById(problema)),
+                consulta("ProblemaRepository.findByStatusAndCategoria",
+                        () -> problemaRepository.findByStatusAndCategoria(Status.ABERTO, CategoriaEnum.ECOSSISTEMA)),
+                consulta("ProblemaRepository.findByMatchingScoreNotNullOrderByMatchingScoreDesc",
+                        () -> problemaRepository.findByMatchingScoreNotNullOrderByMatchingScoreDesc()),
+                consulta("ProblemaRepository.findResumosByStatus",
+                        () -> problemaRepository.findResumosByStatus(Status.IMPLEMENTADO)),
+                consulta("ProblemaRepository.findPrimeiraPagina",
+                        () -> problemaRepository.findPrimeiraPagina(pagina)),
+                consulta("ProblemaRepository.findPaginaApos",
+                        () -> problemaRepository.findPaginaApos(cursor, problemaId(100), pagina)),
+                consulta("ProblemaRepository.findTermos",
+                        () -> problemaRepository.findTermos(problemas)),
+                consulta("ProblemaRepository.updateStatus",
+                        () -> problemaRepository.updateStatus(problema, Status.VALIDADO)),
+                consulta("ProblemaRepository.updateMatchingScore",
+                        () -> problemaRepository.updateMatchingScore(problema, 0.5)),
+                consulta("ProblemaRepository.findVersoes",
+                        () -> problemaRepository.findVersoes(problemas)),
+                consulta("ProblemaRepository.findChavesResumo",
+                        () -> problemaRepository.findChavesResumo(problemas)),
+                consulta("ProblemaRepository.updateMatchingScoresPeloMatching",
+                        () -> problemaRepository.updateMatchingScoresPeloMatching(problemas)),
+
+                // IdeiaVizinhaRepository
+                consulta("IdeiaVizinhaRepository.findMaisSemelhantes",
+                        () -> vizinhaRepository.findMaisSemelhantes(ideia, PageRequest.of(0, 20))),
+                consulta("IdeiaVizinhaRepository.countByIdeiaId",
+                        () -> vizinhaRepository.countByIdeiaId(ideia)),
+                consulta("IdeiaVizinhaRepository.deleteDaIdeia",
+                        () -> vizinhaRepository.deleteDaIdeia(ideia)),
+                consulta("IdeiaVizinhaRepository.deleteComoVizinha",
+                        () -> vizinhaRepository.deleteComoVizinha(ideia)),
+                consulta("IdeiaVizinhaRepository.deletePares",
+                        () -> vizinhaRepository.deletePares(ideia, ideias)),
+                consulta("IdeiaVizinhaRepository.findIdeiasComVizinhas",
+                        () -> vizinhaRepository.findIdeiasComVizinhas(ideias)),
+                consulta("IdeiaVizinhaRepository.findResumos",
+                        () -> vizinhaRepository.findResumos(ideias)),
+                consulta("IdeiaVizinhaRepository.findByIdeiaIdIn",
+                        () -> vizinhaRepository.findByIdeiaIdIn(ideias)),
+
+                // ProblemaIdeiaRepository
+                consulta("ProblemaIdeiaRepository.findMelhores",
+                        () -> problemaIdeiaRepository.findMelhores(problema, PageRequest.of(0, 20))),
+                consulta("ProblemaIdeiaRepository.findProblemaIds",
+                        () -> problemaIdeiaRepository.findProblemaIds(ideias)),
+                consulta("ProblemaIdeiaRepository.deleteByProblemaIds",
+                        () -> problemaIdeiaRepository.deleteByProblemaIds(problemas)),
+                consulta("ProblemaIdeiaRepository.deleteByIdeiaIds",
+                        () -> problemaIdeiaRepository.deleteByIdeiaIds(ideias)),
+                consulta("ProblemaIdeiaRepository.deletePares",
+                        () -> problemaIdeiaRepository.deletePares(problema, ideias)),
+                consulta("ProblemaIdeiaRepository.findResumos",
+                        () -> problemaIdeiaRepository.findResumos(problemas)),
+                consulta("ProblemaIdeiaRepository.findByProblemaIdIn",
+                        () -> problemaIdeiaRepository.findByProblemaIdIn(problemas)),
+
+                // ResumoDiarioRepository
+                consulta("ResumoDiarioRepository.findPeriodo",
+                        () -> resumoDiarioRepository.findPeriodo(TipoRegistro.IDEIA,
+                                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31)))
+        );
+    }
+
+    private static Arguments consulta(String nome, Runnable chamada) {
+        return Arguments.of(nome, chamada);
+    }
+
+    /**
+     * Volume suficiente para o otimizador preferir os índices: os valores consultados de status e
+     * categoria são raros, como os filtros usados pelas telas, e só 10% dos problemas têm score.
+     */
+    private static void popular(Connection conexao) throws SQLException {
+        conexao.setAutoCommit(false);
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO ideias (id, nome_proponente, nome_experimento, desafio_problema, solucao_descricao, "
+                        + "categoria, status, data_criacao, termos_desafio_problema, termos_solucao_descricao, "
+                        + "termos_nome_experimento, termos_metodologia_execucao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < IDEIAS; i++) {
+                insert.setString(1, ideiaId(i));
+                insert.setString(2, "Proponente " + i);
+                insert.setString(3, "Experimento " + i);
+                insert.setString(4, i % 7 == 0 ? "Controle de estoque nas agências " + i : "Fila de atendimento " + i);
+                insert.setString(5, "Automação do processo " + i);
+                insert.setString(6, i % 30 == 0 ? "ECOSSISTEMA" : CATEGORIAS[i % CATEGORIAS.length]);
+                insert.setString(7, i % 30 == 1 ? "IMPLEMENTADO" : STATUS[i % STATUS.length]);
+                insert.setTimestamp(8, Timestamp.valueOf(dataCriacao(i)));
+                insert.setString(9, "controle estoque agências");
+                insert.setString(10, "automação processo");
+                insert.setString(11, "experimento");
+                insert.setString(12, "piloto");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO problemas (id, nome, email, problema_descricao, processo, tipo_solucao_esperada, categoria, "
+                        + "status, matching_score, data_criacao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < PROBLEMAS; i++) {
+                insert.setString(1, problemaId(i));
+                insert.setString(2, "Problema " + i);
+                insert.setString(3, "autor" + (i % 500) + "@patinhas.com.br");
+                insert.setString(4, "Falta de controle de estoque " + i);
+                insert.setString(5, "Processo " + i);
+                insert.setString(6, "Automação");
+                insert.setString(7, i % 30 == 0 ? "ECOSSISTEMA" : CATEGORIAS[i % CATEGORIAS.length]);
+                insert.setString(8, i % 30 == 1 ? "IMPLEMENTADO" : STATUS[i % STATUS.length]);
+                if (i % 10 == 0) {
+                    insert.setDouble(9, (i % 100) / 100.0);
+                } else {
+                    insert.setNull(9, Types.DOUBLE);
+                }
+                insert.setTimestamp(10, Timestamp.valueOf(dataCriacao(i)));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO ideias_vizinhas (ideia_id, vizinha_id, score, criterios) VALUES (?, ?, ?, NULL)")) {
+            for (int i = 0; i < IDEIAS; i++) {
+                for (int v = 1; v <= VINCULOS_POR_REGISTRO; v++) {
+                    insert.setString(1, ideiaId(i));
+                    insert.setString(2, ideiaId((i + v * 37) % IDEIAS));
+                    insert.setDouble(3, 0.3 + v / 20.0);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = conexao.prepareStatement(
+                "INSERT INTO problemas_ideias (problema_id, ideia_id, score) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < PROBLEMAS; i++) {
+                for (int v = 1; v <= VINCULOS_POR_REGISTRO; v++) {
+                    insert.setString(1, problemaId(i));
+                    insert.setString(2, ideiaId((i * 2 + v * 41) % IDEIAS));
+                    insert.setDouble(3, 0.3 + v / 20.0);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        try (Statement statement = conexao.createStatement()) {
+            statement.executeUpdate("INSERT INTO resumo_diario (dia, tipo, categoria, status, total) "
+                    + "SELECT DATE(data_criacao), 'IDEIA', categoria, status, COUNT(*) FROM ideias "
+                    + "GROUP BY DATE(data_criacao), categoria, status");
+            statement.executeUpdate("INSERT INTO resumo_diario (dia, tipo, categoria, status, total) "
+                    + "SELECT DATE(data_criacao), 'PROBLEMA', categoria, status, COUNT(*) FROM problemas "
+                    + "GROUP BY DATE(data_criacao), categoria, status");
+            conexao.commit();
+
+            // Estatísticas atualizadas, como em um banco em produção
+            for (String tabela : List.of("ideias", "problemas", "ideias_vizinhas", "problemas_ideias", "resumo_diario")) {
+                try (ResultSet ignorado = statement.executeQuery("ANALYZE TABLE " + tabela)) {
+                    while (ignorado.next()) {
+                        // consome o resultado
+                    }
+                }
+            }
+        }
+        conexao.setAutoCommit(true);
+    }
+
+    private static String ideiaId(int i) {
+        return String.format("ideia-%06d", i);
+    }
+
+    private static String problemaId(int i) {
+        return String.format("problema-%06d", i);
+    }
+
+    // Oito registros por dia, do mais antigo (0) para o mais recente
+    private static LocalDateTime dataCriacao(int i) {
+        return INICIO.plusDays(i / 8).plusMinutes(i % 8 * 45L);
+    }
+}
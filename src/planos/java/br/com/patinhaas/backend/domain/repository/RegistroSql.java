@@ -0,0 +1,113 @@
+package br.com.patinhaas.backend.domain.repository;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Envolve o DataSource da aplicação e registra cada comando preparado pelo Hibernate com os
+ * parâmetros vinculados, para que o mesmo SQL possa ser repetido com EXPLAIN. Só registra
+ * dentro de {@link #registrar}; a carga dos dados e as migrations passam direto.
+ */
+class RegistroSql implements BeanPostProcessor {
+
+    private static final Set<String> EXECUCOES = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "addBatch");
+
+    private final List<Comando> comandos = new ArrayList<>();
+
+    private volatile boolean ativo;
+
+    /**
+     * Executa a chamada e devolve os comandos que ela enviou ao banco, na ordem de execução.
+     */
+    synchronized List<Comando> registrar(Runnable chamada) {
+        comandos.clear();
+        ativo = true;
+        try {
+            chamada.run();
+        } finally {
+            ativo = false;
+        }
+        return List.copyOf(comandos);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, metodo, argumentos) -> {
+                    Object resultado = invocar(dataSource, metodo, argumentos);
+                    return resultado instanceof Connection conexao ? conexao(conexao) : resultado;
+                });
+    }
+
+    private Connection conexao(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    Object resultado = invocar(conexao, metodo, argumentos);
+                    if (resultado instanceof PreparedStatement statement && metodo.getName().equals("prepareStatement")) {
+                        return comando(statement, (String) argumentos[0]);
+                    }
+                    return resultado;
+                });
+    }
+
+    private PreparedStatement comando(PreparedStatement statement, String sql) {
+        List<Parametro> parametros = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, argumentos) -> {
+                    // setString(1, ...), setObject(2, ...): o primeiro argumento é a posição do parâmetro
+                    if (metodo.getName().startsWith("set") && argumentos != null && argumentos.length >= 2
+                            && argumentos[0] instanceof Integer) {
+                        parametros.add(new Parametro(metodo, argumentos.clone()));
+                    } else if (ativo && EXECUCOES.contains(metodo.getName())
+                            && (argumentos == null || argumentos.length == 0)) {
+                        comandos.add(new Comando(sql, List.copyOf(parametros)));
+                    }
+                    return invocar(statement, metodo, argumentos);
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    record Parametro(Method metodo, Object[] argumentos) {
+    }
+
+    record Comando(String sql, List<Parametro> parametros) {
+
+        /**
+         * Prepara o mesmo SQL com o prefixo informado (ex.: EXPLAIN) e os mesmos parâmetros.
+         */
+        PreparedStatement preparar(Connection conexao, String prefixo) throws SQLException {
+            PreparedStatement statement = conexao.prepareStatement(prefixo + sql);
+            for (Parametro parametro : parametros) {
+                try {
+                    parametro.metodo().invoke(statement, parametro.argumentos());
+                } catch (ReflectiveOperationException e) {
+                    statement.close();
+                    throw new SQLException("Falha ao repetir o parâmetro " + parametro.metodo().getName(), e);
+                }
+            }
+            return statement;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.patinhaas.backend.domain.service.similaridade;
+
+import br.com.patinhaas.backend.domain.model.Ideia;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceLshIdeiasTest {
+
+    private static final int BANDAS = 20;
+    private static final int LINHAS = 5;
+    private static final double LIMIAR = 0.6;
+
+    // Recall mínimo sobre os pares cuja similaridade pela CalculadoraSimilaridade passa do limiar
+    // (Jaccard do campo de desafio, o único preenchido pelo corpus), com os valores padrão
+    private static final double RECALL_MINIMO = 0.9;
+
+    private static final int TERMOS_POR_IDEIA = 30;
+
+    @Test
+    void recallDosParesAcimaDoLimiar() {
+        List<Ideia> corpus = corpusSintetico();
+        IndiceLshIdeias indice = new IndiceLshIdeias(BANDAS, LINHAS, LIMIAR);
+        indice.reconstruir(corpus);
+
+        CalculadoraSimilaridade calculadora = new CalculadoraSimilaridade();
+        List<TermosIdeia> termos = corpus.stream().map(TermosIdeia::de).toList();
+        int esperados = 0;
+        int encontrados = 0;
+        for (int i = 0; i < corpus.size(); i++) {
+            Set<String> candidatos = new HashSet<>();
+            indice.buscar(corpus.get(i)).forEach(candidato -> candidatos.add(candidato.ideiaId()));
+            for (int j = i + 1; j < corpus.size(); j++) {
+                double similaridade = calculadora.calculateTextSimilarity(
+                        termos.get(i).get(CampoTexto.DESAFIO_PROBLEMA), termos.get(j).get(CampoTexto.DESAFIO_PROBLEMA));
+                if (similaridade >= LIMIAR) {
+                    esperados++;
+                    if (candidatos.contains(corpus.get(j).getId())) {
+                        encontrados++;
+                    }
+                }
+            }
+        }
+
+        assertTrue(esperados > 100, "corpus sem pares suficientes acima do limiar: " + esperados);
+        double recall = (double) encontrados / esperados;
+        assertTrue(recall >= RECALL_MINIMO,
+                String.format("recall %.3f abaixo de %.2f (%d de %d pares)", recall, RECALL_MINIMO, encontrados, esperados));
+    }
+
+    @Test
+    void naoRetornaAPropriaIdeiaNemIdeiasRemovidas() {
+        List<Ideia> corpus = corpusSintetico();
+        IndiceLshIdeias indice = new IndiceLshIdeias(BANDAS, LINHAS, LIMIAR);
+        indice.reconstruir(corpus);
+
+        // Cada base tem uma cópia idêntica (0 termos trocados) na posição seguinte
+        Ideia base = corpus.get(0);
+        Ideia copia = corpus.get(1);
+        assertTrue(indice.buscar(base).stream().anyMatch(candidato -> candidato.ideiaId().equals(copia.getId())));
+        assertTrue(indice.buscar(base).stream().noneMatch(candidato -> candidato.ideiaId().equals(base.getId())));
+
+        indice.remover(copia.getId());
+        assertTrue(indice.buscar(base).stream().noneMatch(candidato -> candidato.ideiaId().equals(copia.getId())));
+    }
+
+    @Test
+    void rejeitaParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new IndiceLshIdeias(0, LINHAS, LIMIAR));
+        assertThrows(IllegalArgumentException.class, () -> new IndiceLshIdeias(BANDAS, -1, LIMIAR));
+        assertThrows(IllegalArgumentException.class, () -> new IndiceLshIdeias(BANDAS, LINHAS, 0));
+        assertThrows(IllegalArgumentException.class, () -> new IndiceLshIdeias(BANDAS, LINHAS, 1.01));
+        assertThrows(IllegalArgumentException.class, () -> new IndiceLshIdeias(BANDAS, LINHAS, Double.NaN));
+        assertEquals(List.of(), new IndiceLshIdeias(BANDAS, LINHAS, 1).buscar(ideia("vazia", List.of())));
+    }
+
+    /**
+     * Ideias base com termos sorteados de um vocabulário grande, cada uma seguida de uma variação
+     * com 0 a 9 termos trocados por termos novos: Jaccard de 1 até 21/39, dos dois lados do limiar.
+     */
+    private static List<Ideia> corpusSintetico() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Ideia> corpus = new ArrayList<>();
+        int novos = 0;
+        for (int i = 0; i < 400; i++) {
+            List<String> termos = new ArrayList<>();
+            Set<String> usados = new HashSet<>();
+            while (termos.size() < TERMOS_POR_IDEIA) {
+                String termo = palavra(random.nextInt(20_000));
+                if (usados.add(termo)) {
+                    termos.add(termo);
+                }
+            }
+            corpus.add(ideia("base-" + i, termos));
+
+            List<String> variacao = new ArrayList<>(termos);
+            int trocas = i % 10;
+            for (int t = 0; t < trocas; t++) {
+                variacao.set(t, palavra(100_000 + novos++));
+            }
+            corpus.add(ideia("variacao-" + i, variacao));
+        }
+        return corpus;
+    }
+
+    private static Ideia ideia(String id, List<String> termos) {
+        Ideia ideia = new Ideia();
+        ideia.setId(id);
+        ideia.setTermosDesafioProblema(Tokenizador.serializar(termos));
+        return ideia;
+    }
+
+    // Só letras: o Tokenizador descarta dígitos
+    private static String palavra(int numero) {
+        StringBuilder palavra = new StringBuilder("ter");
+        do {
+            palavra.append((char) ('a' + numero % 26));
+            numero /= 26;
+        } while (numero > 0);
+        return palavra.toString();
+    }
+}